@@ -0,0 +1,755 @@
+// BridgeBenchmark.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+
+import android.os.Bundle;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plain JVM benchmark of the bridge module, run against the stand-ins of src/stubs/java for the AXA
+ * SDK, React Native and Android classes, so that it runs off-device.
+ * <p>
+ * Each scenario is warmed up, then measured for throughput (calls per second), allocation (bytes
+ * allocated by the calling thread per call) and the latency percentiles of single calls. Unless its
+ * name ends with <code>(executor)</code>, a scenario runs the SDK calls on the calling thread, so that
+ * their whole cost is measured. The stand-in SDK does no work: the results are the cost of the module.
+ * <p>
+ * Configuration setters and {@link ReactNativeAxaMobileSdkModule#throwException(int)} are not measured.
+ */
+public final class BridgeBenchmark {
+
+    private static final long WARM_UP_NANOS = 500000000L;
+    private static final long MEASURE_NANOS = 500000000L;
+    private static final int ALLOCATION_CALLS = 10000;
+    private static final int LATENCY_SAMPLES = 20000;
+    private static final int BATCH = 64;
+
+    private static final String[] URLS = new String[16];
+    private static final String[] VIEWS = new String[32];
+
+    private static final ReadableMap ATTRIBUTES = JavaOnlyMap.of(
+            "screen", "Checkout", "userType", "premium", "items", 3, "ratio", 0.75, "express", true);
+    private static final Map<String, String> HEADERS = new HashMap<>();
+    private static final Bundle BUNDLE = new Bundle();
+
+    private static long sink;
+
+    private static final Callback callback = new Callback() {
+        @Override
+        public void invoke(Object... args) {
+            sink += args.length;
+        }
+    };
+
+    static {
+        for (int i = 0; i < URLS.length; i++) {
+            URLS[i] = "https://api.example.com/users/" + (1000 + i) + "/orders?page=" + i + "&token=abc";
+        }
+        for (int i = 0; i < VIEWS.length; i++) {
+            VIEWS[i] = (i % 4 == 0 ? "Debug" : "Screen") + i + (i % 3 == 0 ? "Settings" : "");
+        }
+        HEADERS.put("x-apm-brtm-bt", "ReactNative");
+        HEADERS.put("x-apm-brtm-sessionid", "6f1c0a7e-52d3-4c55-9d4a-0d3c1f9a1e2b");
+        BUNDLE.putString("transactionName", "checkout");
+        BUNDLE.putInt("status", 200);
+        BUNDLE.putBoolean("buffered", true);
+    }
+
+    private abstract static class Scenario {
+        final String name;
+
+        Scenario(String name) {
+            this.name = name;
+        }
+
+        void setUp() {
+        }
+
+        void tearDown() {
+        }
+
+        abstract void run(int i);
+    }
+
+    private BridgeBenchmark() {
+    }
+
+    /**
+     * @param args optional filters: only the scenarios whose name contains one of them are run.
+     */
+    public static void main(String[] args) {
+        ReactApplicationContext context = new ReactApplicationContext();
+        new ReactNativeAxaMobileSdkModule(context);
+        AxaLog.setLevel("none");
+        SdkExecutor.configure(null);
+
+        System.out.println("java " + System.getProperty("java.version") + ", " + System.getProperty("os.arch"));
+        System.out.println(String.format(Locale.ROOT, "%-46s %12s %9s %8s %8s %8s %9s",
+                "scenario", "ops/s", "B/op", "p50 ns", "p90 ns", "p99 ns", "p99.9 ns"));
+        for (Scenario scenario : scenarios()) {
+            if (selected(scenario.name, args)) {
+                measure(scenario);
+            }
+        }
+        System.out.println("SDK calls: " + CaMDOIntegration.getCallCount() + ", checksum: " + sink);
+    }
+
+    private static boolean selected(String name, String[] filters) {
+        if (filters.length == 0) {
+            return true;
+        }
+        for (String filter : filters) {
+            if (name.contains(filter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void measure(Scenario scenario) {
+        try {
+            scenario.setUp();
+            int i = 0;
+            long start = System.nanoTime();
+            while (System.nanoTime() - start < WARM_UP_NANOS) {
+                for (int k = 0; k < BATCH; k++) {
+                    scenario.run(i++);
+                }
+            }
+
+            long ops = 0;
+            long elapsed;
+            start = System.nanoTime();
+            do {
+                for (int k = 0; k < BATCH; k++) {
+                    scenario.run(i++);
+                }
+                ops += BATCH;
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < MEASURE_NANOS);
+
+            long allocatedBefore = allocatedBytes();
+            for (int k = 0; k < ALLOCATION_CALLS; k++) {
+                scenario.run(i++);
+            }
+            long allocated = allocatedBytes() - allocatedBefore;
+
+            long[] latencies = new long[LATENCY_SAMPLES];
+            for (int k = 0; k < LATENCY_SAMPLES; k++) {
+                long t0 = System.nanoTime();
+                scenario.run(i++);
+                latencies[k] = System.nanoTime() - t0;
+            }
+            Arrays.sort(latencies);
+            scenario.tearDown();
+
+            System.out.println(String.format(Locale.ROOT, "%-46s %12.0f %9d %8d %8d %8d %9d",
+                    scenario.name, ops * 1e9 / elapsed, allocated < 0 ? -1 : allocated / ALLOCATION_CALLS,
+                    percentile(latencies, 0.5), percentile(latencies, 0.9),
+                    percentile(latencies, 0.99), percentile(latencies, 0.999)));
+        } catch (RuntimeException e) {
+            System.out.println(String.format(Locale.ROOT, "%-46s failed: %s", scenario.name, e));
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+
+    /**
+     * @return the bytes allocated so far by the calling thread, or -1 when the JVM does not tell.
+     */
+    @SuppressWarnings("deprecation")
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /** Waits for the calls queued on the SDK executor, so that they do not run during the next scenario. */
+    private static void drainExecutor() {
+        final CountDownLatch drained = new CountDownLatch(1);
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                drained.countDown();
+            }
+        });
+        try {
+            drained.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<Scenario> scenarios() {
+        List<Scenario> scenarios = new ArrayList<>();
+
+        // Helpers of the module
+
+        scenarios.add(new Scenario("transformJSMap") {
+            @Override
+            void run(int i) {
+                sink += ReactNativeAxaMobileSdkModule.transformJSMap(ATTRIBUTES).size();
+            }
+        });
+        scenarios.add(new Scenario("getBundleData") {
+            @Override
+            void run(int i) {
+                sink += ReactNativeAxaMobileSdkModule.getBundleData(BUNDLE).length();
+            }
+        });
+        scenarios.add(new Scenario("getBundleResult typed") {
+            @Override
+            void setUp() {
+                ReactNativeAxaMobileSdkModule.setTypedResultsEnabled(true);
+            }
+
+            @Override
+            void run(int i) {
+                sink += ReactNativeAxaMobileSdkModule.getBundleResult(BUNDLE).hashCode() & 1;
+            }
+
+            @Override
+            void tearDown() {
+                ReactNativeAxaMobileSdkModule.setTypedResultsEnabled(false);
+            }
+        });
+        scenarios.add(new Scenario("toWritableMap") {
+            @Override
+            void run(int i) {
+                sink += ReactNativeAxaMobileSdkModule.toWritableMap(HEADERS).hashCode() & 1;
+            }
+        });
+        scenarios.add(new Scenario("ApmHeaderCache.getHeaders") {
+            @Override
+            void run(int i) {
+                sink += ApmHeaderCache.getHeaders().size();
+            }
+        });
+        scenarios.add(new Scenario("UrlNormalizer.normalize") {
+            @Override
+            void setUp() {
+                UrlNormalizer.configure(JavaOnlyMap.of(
+                        "templates", JavaOnlyArray.of("/users/{id}/orders"),
+                        "stripQueryParams", JavaOnlyArray.of("token")));
+            }
+
+            @Override
+            void run(int i) {
+                sink += UrlNormalizer.normalize(URLS[i & 15]).length();
+            }
+
+            @Override
+            void tearDown() {
+                UrlNormalizer.configure(null);
+            }
+        });
+        scenarios.add(new Scenario("EventGovernor.admitMetric") {
+            @Override
+            void setUp() {
+                EventGovernor.configure(JavaOnlyMap.of("metrics", JavaOnlyArray.of(
+                        JavaOnlyMap.of("pattern", "Image*", "sampleRate", 0.5))));
+            }
+
+            @Override
+            void run(int i) {
+                sink += (long) EventGovernor.admitMetric((i & 1) == 0 ? "ImageWidth" : "CartSize");
+            }
+
+            @Override
+            void tearDown() {
+                EventGovernor.configure(null);
+            }
+        });
+        scenarios.add(new Scenario("EventGovernor.admitNetworkEvent") {
+            @Override
+            void setUp() {
+                EventGovernor.configure(JavaOnlyMap.of("network", JavaOnlyArray.of(
+                        JavaOnlyMap.of("pattern", "https://api.example.com/*", "ratePerSecond", 1000000))));
+            }
+
+            @Override
+            void run(int i) {
+                sink += EventGovernor.admitNetworkEvent(URLS[i & 15]) ? 1 : 0;
+            }
+
+            @Override
+            void tearDown() {
+                EventGovernor.configure(null);
+            }
+        });
+        scenarios.add(new Scenario("MetricAggregator.add") {
+            private final Map<String, String> attributes = new HashMap<>();
+
+            @Override
+            void setUp() {
+                attributes.put("screen", "Checkout");
+                MetricAggregator.configure(JavaOnlyMap.of("metrics", JavaOnlyArray.of("Image*")));
+            }
+
+            @Override
+            void run(int i) {
+                sink += MetricAggregator.add("ImageWidth", i, attributes) ? 1 : 0;
+            }
+
+            @Override
+            void tearDown() {
+                MetricAggregator.configure(null);
+            }
+        });
+        scenarios.add(new Scenario("PayloadCompactor.compactAttributes") {
+            private final Map<String, String> template = new HashMap<>();
+
+            @Override
+            void setUp() {
+                template.put("screen", "Checkout");
+                template.put("stack", new String(new char[600]).replace('\0', 'x'));
+                PayloadCompactor.configure(JavaOnlyMap.of("maxAttributeLength", 128));
+            }
+
+            @Override
+            void run(int i) {
+                sink += PayloadCompactor.compactAttributes(new HashMap<>(template)).size();
+            }
+
+            @Override
+            void tearDown() {
+                PayloadCompactor.configure(null);
+            }
+        });
+        scenarios.add(new Scenario("ViewIgnoreMatcher.isIgnored") {
+            @Override
+            void setUp() {
+                ViewIgnoreMatcher.add(JavaOnlyArray.of("Debug*", "*Settings", "Login"));
+            }
+
+            @Override
+            void run(int i) {
+                sink += ViewIgnoreMatcher.isIgnored(VIEWS[i & 31]) ? 1 : 0;
+            }
+        });
+        scenarios.add(new Scenario("MetricsRingBuffer offer+drain") {
+            private final MetricsRingBuffer buffer = new MetricsRingBuffer(256);
+            private final Map<String, String> attributes = new HashMap<>();
+
+            @Override
+            void run(int i) {
+                buffer.offerNumeric("ImageWidth", i, attributes);
+                if (buffer.isFull()) {
+                    sink += buffer.drain();
+                }
+            }
+        });
+        scenarios.add(new Scenario("EventJournal.appendNumeric") {
+            private final Map<String, String> attributes = new HashMap<>();
+
+            @Override
+            void setUp() {
+                attributes.put("screen", "Checkout");
+                EventJournal.configure(JavaOnlyMap.of("maxBytes", 1 << 20));
+            }
+
+            @Override
+            void run(int i) {
+                if (!EventJournal.appendNumeric("ImageWidth", i, attributes)) {
+                    EventJournal.replay();
+                }
+            }
+
+            @Override
+            void tearDown() {
+                EventJournal.replay();
+                EventJournal.configure(null);
+            }
+        });
+        scenarios.add(new Scenario("SessionAttributeCache.update") {
+            @Override
+            void run(int i) {
+                sink += SessionAttributeCache.update("tier", (i & 63) == 0 ? "silver" : "gold") ? 1 : 0;
+            }
+        });
+        scenarios.add(new Scenario("CallbackDispatcher.wrap+onSuccess") {
+            @Override
+            void run(int i) {
+                CallbackDispatcher.wrap("logNumericMetric", callback, 0).onSuccess(BUNDLE);
+            }
+        });
+
+        // @ReactMethods, SDK calls on the calling thread
+
+        scenarios.add(new Scenario("logNumericMetric") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.logNumericMetric("ImageWidth", (double) i, ATTRIBUTES, null);
+            }
+        });
+        scenarios.add(new Scenario("logNumericMetric callback") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.logNumericMetric("ImageWidth", (double) i, ATTRIBUTES, callback);
+            }
+        });
+        scenarios.add(new Scenario("logNumericMetric result stream") {
+            @Override
+            void setUp() {
+                ReactNativeAxaMobileSdkModule.setResultStream(JavaOnlyMap.of());
+            }
+
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.logNumericMetric("ImageWidth", (double) i, ATTRIBUTES, null);
+            }
+
+            @Override
+            void tearDown() {
+                ReactNativeAxaMobileSdkModule.setResultStream(null);
+            }
+        });
+        scenarios.add(new Scenario("logTextMetric callback") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.logTextMetric("PaymentMethod", "card", ATTRIBUTES, callback);
+            }
+        });
+        scenarios.add(new Scenario("logNetworkEvent callback") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.logNetworkEvent(URLS[i & 15], 200, 120, 2048, 512, callback);
+            }
+        });
+        scenarios.add(new Scenario("logNetworkEvent 5 args") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.logNetworkEvent(URLS[i & 15], 200, 120, 2048, 512);
+            }
+        });
+        scenarios.add(new Scenario("logMetricsBatch 10 events") {
+            private final ReadableArray events = JavaOnlyArray.of(
+                    JavaOnlyMap.of("type", "numeric", "name", "ImageWidth", "value", 320, "attributes", ATTRIBUTES),
+                    JavaOnlyMap.of("type", "numeric", "name", "ImageHeight", "value", 240),
+                    JavaOnlyMap.of("type", "text", "name", "PaymentMethod", "value", "card"),
+                    JavaOnlyMap.of("type", "network", "url", URLS[0], "status", 200, "responseTime", 80,
+                            "inBytes", 1024, "outBytes", 256),
+                    JavaOnlyMap.of("type", "numeric", "name", "CartSize", "value", 3),
+                    JavaOnlyMap.of("type", "text", "name", "Locale", "value", "en-US"),
+                    JavaOnlyMap.of("type", "network", "url", URLS[1], "status", 404, "responseTime", 40,
+                            "inBytes", 128, "outBytes", 64),
+                    JavaOnlyMap.of("type", "numeric", "name", "ListItems", "value", 25),
+                    JavaOnlyMap.of("type", "text", "name", "Theme", "value", "dark"),
+                    JavaOnlyMap.of("type", "numeric", "name", "Retries", "value", 0));
+
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.logMetricsBatch(events, callback);
+            }
+        });
+        scenarios.add(new Scenario("viewLoaded callback") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.viewLoaded("Checkout", 120, callback);
+            }
+        });
+        scenarios.add(new Scenario("startViewLoad") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.startViewLoad("Checkout", null);
+            }
+        });
+        scenarios.add(new Scenario("sendScreenShot callback") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.sendScreenShot("Checkout", 1, callback);
+            }
+        });
+        scenarios.add(new Scenario("setSessionAttribute callback") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.setSessionAttribute("tier", (i & 7) == 0 ? "silver" : "gold", callback);
+            }
+        });
+        scenarios.add(new Scenario("setSessionAttributes callback") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.setSessionAttributes(ATTRIBUTES, callback);
+            }
+        });
+        scenarios.add(new Scenario("start+stopApplicationTransaction") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.startApplicationTransaction("checkout", null, null);
+                ReactNativeAxaMobileSdkModule.stopApplicationTransaction("checkout", null, null);
+            }
+        });
+        scenarios.add(new Scenario("start+stopTransactionSpan") {
+            @Override
+            void setUp() {
+                ReactNativeAxaMobileSdkModule.startApplicationTransaction("checkout", null, null);
+            }
+
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.startTransactionSpan("checkout", "payment");
+                ReactNativeAxaMobileSdkModule.stopTransactionSpan("checkout", "payment", null);
+            }
+
+            @Override
+            void tearDown() {
+                ReactNativeAxaMobileSdkModule.stopApplicationTransaction("checkout", null, null);
+            }
+        });
+        scenarios.add(new Scenario("uploadEvents callback") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.uploadEvents(callback);
+            }
+        });
+        scenarios.add(new Scenario("getAPMHeaders") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.getAPMHeaders(callback);
+            }
+        });
+        scenarios.add(new Scenario("addToApmHeader+getAPMHeaders") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.addToApmHeader("x-app-version=2.4.1");
+                ReactNativeAxaMobileSdkModule.getAPMHeaders(callback);
+            }
+        });
+        scenarios.add(new Scenario("getAPMHeadersVersion") {
+            @Override
+            void run(int i) {
+                sink += ReactNativeAxaMobileSdkModule.getAPMHeadersVersion();
+            }
+        });
+        scenarios.add(new Scenario("setCustomerId callback") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.setCustomerId("customer-42", callback);
+            }
+        });
+        scenarios.add(new Scenario("getCustomerId") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.getCustomerId(callback);
+            }
+        });
+        scenarios.add(new Scenario("getCustomerIdSync") {
+            @Override
+            void run(int i) {
+                String customerId = ReactNativeAxaMobileSdkModule.getCustomerIdSync();
+                sink += customerId == null ? 0 : customerId.length();
+            }
+        });
+        scenarios.add(new Scenario("getDeviceId") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.getDeviceId(callback);
+            }
+        });
+        scenarios.add(new Scenario("getDeviceIdSync") {
+            @Override
+            void run(int i) {
+                sink += ReactNativeAxaMobileSdkModule.getDeviceIdSync().length();
+            }
+        });
+        scenarios.add(new Scenario("isSDKEnabled") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.isSDKEnabled(callback);
+            }
+        });
+        scenarios.add(new Scenario("isSDKEnabledSync") {
+            @Override
+            void run(int i) {
+                sink += ReactNativeAxaMobileSdkModule.isSDKEnabledSync() ? 1 : 0;
+            }
+        });
+        scenarios.add(new Scenario("isInPrivateZone") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.isInPrivateZone(callback);
+            }
+        });
+        scenarios.add(new Scenario("isInPrivateZoneSync") {
+            @Override
+            void run(int i) {
+                sink += ReactNativeAxaMobileSdkModule.isInPrivateZoneSync() ? 1 : 0;
+            }
+        });
+        scenarios.add(new Scenario("isScreenshotPolicyEnabled") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.isScreenshotPolicyEnabled(callback);
+            }
+        });
+        scenarios.add(new Scenario("isScreenshotPolicyEnabledSync") {
+            @Override
+            void run(int i) {
+                sink += ReactNativeAxaMobileSdkModule.isScreenshotPolicyEnabledSync() ? 1 : 0;
+            }
+        });
+        scenarios.add(new Scenario("enter+exitPrivateZone") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.enterPrivateZone();
+                ReactNativeAxaMobileSdkModule.exitPrivateZone();
+            }
+        });
+        scenarios.add(new Scenario("enableSDK") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.enableSDK();
+            }
+        });
+        scenarios.add(new Scenario("stopCurrentAndStartNewSession") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.stopCurrentAndStartNewSession();
+            }
+        });
+        scenarios.add(new Scenario("setCustomerLocation") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.setCustomerLocation("94043", "US");
+            }
+        });
+        scenarios.add(new Scenario("setUserFeedback") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.setUserFeedback("The checkout page is slow");
+            }
+        });
+        scenarios.add(new Scenario("ignoreView") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.ignoreView("Login");
+            }
+        });
+        scenarios.add(new Scenario("getOpenTransactions") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.getOpenTransactions(callback);
+            }
+        });
+        scenarios.add(new Scenario("getSdkExecutorStats") {
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.getSdkExecutorStats(callback);
+            }
+        });
+
+        // @ReactMethods, SDK calls on the SDK executor thread
+
+        scenarios.add(new Scenario("logNumericMetric (executor)") {
+            @Override
+            void setUp() {
+                SdkExecutor.configure(JavaOnlyMap.of());
+            }
+
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.logNumericMetric("ImageWidth", (double) i, ATTRIBUTES, null);
+            }
+
+            @Override
+            void tearDown() {
+                drainExecutor();
+                SdkExecutor.configure(null);
+            }
+        });
+        scenarios.add(new Scenario("logNetworkEvent callback (executor)") {
+            @Override
+            void setUp() {
+                SdkExecutor.configure(JavaOnlyMap.of());
+            }
+
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.logNetworkEvent(URLS[i & 15], 200, 120, 2048, 512, callback);
+            }
+
+            @Override
+            void tearDown() {
+                drainExecutor();
+                SdkExecutor.configure(null);
+            }
+        });
+        scenarios.add(new Scenario("setCustomerId+getCustomerIdSync (executor)") {
+            @Override
+            void setUp() {
+                SdkExecutor.configure(JavaOnlyMap.of());
+            }
+
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.setCustomerId("customer-42", null);
+                sink += ReactNativeAxaMobileSdkModule.getCustomerIdSync().length();
+            }
+
+            @Override
+            void tearDown() {
+                drainExecutor();
+                SdkExecutor.configure(null);
+            }
+        });
+        scenarios.add(new Scenario("logNumericMetric+getCustomerIdSync (executor)") {
+            @Override
+            void setUp() {
+                SdkExecutor.configure(JavaOnlyMap.of());
+            }
+
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.logNumericMetric("metric" + (i & 7), (double) i, ATTRIBUTES, null);
+                sink += ReactNativeAxaMobileSdkModule.getCustomerIdSync().length();
+            }
+
+            @Override
+            void tearDown() {
+                drainExecutor();
+                SdkExecutor.configure(null);
+            }
+        });
+        scenarios.add(new Scenario("start+stopApplicationTransaction (executor)") {
+            @Override
+            void setUp() {
+                SdkExecutor.configure(JavaOnlyMap.of());
+            }
+
+            @Override
+            void run(int i) {
+                ReactNativeAxaMobileSdkModule.startApplicationTransaction("checkout", null, null);
+                ReactNativeAxaMobileSdkModule.stopApplicationTransaction("checkout", null, null);
+            }
+
+            @Override
+            void tearDown() {
+                drainExecutor();
+                SdkExecutor.configure(null);
+            }
+        });
+        return scenarios;
+    }
+}
@@ -0,0 +1,11 @@
+// BroadcastReceiver.java
+
+package android.content;
+
+/**
+ * Stand-in for the Android class.
+ */
+public abstract class BroadcastReceiver {
+
+    public abstract void onReceive(Context context, Intent intent);
+}
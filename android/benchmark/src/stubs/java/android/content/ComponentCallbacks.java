@@ -0,0 +1,15 @@
+// ComponentCallbacks.java
+
+package android.content;
+
+import android.content.res.Configuration;
+
+/**
+ * Stand-in for the Android interface.
+ */
+public interface ComponentCallbacks {
+
+    void onConfigurationChanged(Configuration newConfig);
+
+    void onLowMemory();
+}
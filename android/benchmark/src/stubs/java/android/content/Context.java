@@ -0,0 +1,37 @@
+// Context.java
+
+package android.content;
+
+import android.net.ConnectivityManager;
+
+import java.io.File;
+
+/**
+ * Stand-in for the Android class, with its files directory under <code>java.io.tmpdir</code>.
+ */
+public class Context {
+
+    public static final String CONNECTIVITY_SERVICE = "connectivity";
+
+    private static final File filesDir = new File(System.getProperty("java.io.tmpdir"), "axa-benchmark");
+
+    public Context getApplicationContext() {
+        return this;
+    }
+
+    public File getFilesDir() {
+        filesDir.mkdirs();
+        return filesDir;
+    }
+
+    public Object getSystemService(String name) {
+        return CONNECTIVITY_SERVICE.equals(name) ? new ConnectivityManager() : null;
+    }
+
+    public Intent registerReceiver(BroadcastReceiver receiver, IntentFilter filter) {
+        return new Intent();
+    }
+
+    public void registerComponentCallbacks(ComponentCallbacks callback) {
+    }
+}
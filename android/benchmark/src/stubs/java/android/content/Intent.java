@@ -0,0 +1,15 @@
+// Intent.java
+
+package android.content;
+
+/**
+ * Stand-in for the Android class, without extras.
+ */
+public class Intent {
+
+    public static final String ACTION_BATTERY_CHANGED = "android.intent.action.BATTERY_CHANGED";
+
+    public int getIntExtra(String name, int defaultValue) {
+        return defaultValue;
+    }
+}
@@ -0,0 +1,12 @@
+// IntentFilter.java
+
+package android.content;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class IntentFilter {
+
+    public IntentFilter(String action) {
+    }
+}
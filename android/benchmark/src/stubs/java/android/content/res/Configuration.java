@@ -0,0 +1,9 @@
+// Configuration.java
+
+package android.content.res;
+
+/**
+ * Stand-in for the Android class.
+ */
+public final class Configuration {
+}
@@ -0,0 +1,9 @@
+// Location.java
+
+package android.location;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class Location {
+}
@@ -0,0 +1,17 @@
+// ConnectivityManager.java
+
+package android.net;
+
+/**
+ * Stand-in for the Android class: always connected, unmetered.
+ */
+public class ConnectivityManager {
+
+    public NetworkInfo getActiveNetworkInfo() {
+        return new NetworkInfo();
+    }
+
+    public boolean isActiveNetworkMetered() {
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+// NetworkInfo.java
+
+package android.net;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class NetworkInfo {
+
+    public boolean isConnected() {
+        return true;
+    }
+}
@@ -0,0 +1,11 @@
+// BatteryManager.java
+
+package android.os;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class BatteryManager {
+
+    public static final String EXTRA_PLUGGED = "plugged";
+}
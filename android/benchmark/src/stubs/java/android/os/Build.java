@@ -0,0 +1,20 @@
+// Build.java
+
+package android.os;
+
+/**
+ * Stand-in for the Android class.
+ */
+public final class Build {
+
+    private Build() {
+    }
+
+    public static final class VERSION {
+        public static final int SDK_INT = 33;
+    }
+
+    public static final class VERSION_CODES {
+        public static final int N = 24;
+    }
+}
@@ -0,0 +1,69 @@
+// Handler.java
+
+package android.os;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for the Android class, posting to the thread of its {@link Looper}.
+ */
+public class Handler {
+
+    private final Looper looper;
+    private final Map<Runnable, List<Future<?>>> pending = new HashMap<>();
+
+    public Handler(Looper looper) {
+        this.looper = looper;
+    }
+
+    public final Looper getLooper() {
+        return looper;
+    }
+
+    public final boolean post(Runnable runnable) {
+        return postDelayed(runnable, 0);
+    }
+
+    public final boolean postDelayed(final Runnable runnable, long delayMillis) {
+        final List<Future<?>> scheduled = new ArrayList<>(1);
+        synchronized (pending) {
+            Future<?> future = looper.executor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (pending) {
+                        List<Future<?>> futures = pending.get(runnable);
+                        if (futures != null && futures.removeAll(scheduled) && futures.isEmpty()) {
+                            pending.remove(runnable);
+                        }
+                    }
+                    runnable.run();
+                }
+            }, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+            scheduled.add(future);
+            List<Future<?>> futures = pending.get(runnable);
+            if (futures == null) {
+                futures = new ArrayList<>();
+                pending.put(runnable, futures);
+            }
+            futures.add(future);
+        }
+        return true;
+    }
+
+    public final void removeCallbacks(Runnable runnable) {
+        List<Future<?>> futures;
+        synchronized (pending) {
+            futures = pending.remove(runnable);
+        }
+        if (futures != null) {
+            for (Future<?> future : futures) {
+                future.cancel(false);
+            }
+        }
+    }
+}
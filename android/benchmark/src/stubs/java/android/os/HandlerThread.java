@@ -0,0 +1,26 @@
+// HandlerThread.java
+
+package android.os;
+
+/**
+ * Stand-in for the Android class. Its {@link Looper} owns the thread.
+ */
+public class HandlerThread extends Thread {
+
+    private Looper looper;
+
+    public HandlerThread(String name) {
+        super(name);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (looper == null) {
+            looper = new Looper(getName());
+        }
+    }
+
+    public synchronized Looper getLooper() {
+        return looper;
+    }
+}
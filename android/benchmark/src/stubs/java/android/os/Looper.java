@@ -0,0 +1,49 @@
+// Looper.java
+
+package android.os;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Stand-in for the Android class: a single daemon thread running posted and delayed messages in order.
+ */
+public final class Looper {
+
+    private static final ThreadLocal<Looper> current = new ThreadLocal<>();
+    private static final Looper main = new Looper("main");
+
+    final ScheduledThreadPoolExecutor executor;
+    private final MessageQueue queue = new MessageQueue(this);
+
+    Looper(final String name) {
+        executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        current.set(Looper.this);
+                        runnable.run();
+                    }
+                }, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    public static Looper getMainLooper() {
+        return main;
+    }
+
+    public static Looper myLooper() {
+        return current.get();
+    }
+
+    public static MessageQueue myQueue() {
+        Looper looper = current.get();
+        return looper != null ? looper.queue : main.queue;
+    }
+}
@@ -0,0 +1,30 @@
+// MessageQueue.java
+
+package android.os;
+
+/**
+ * Stand-in for the Android class. Idle handlers run once the messages already posted have run.
+ */
+public final class MessageQueue {
+
+    public interface IdleHandler {
+        boolean queueIdle();
+    }
+
+    private final Looper looper;
+
+    MessageQueue(Looper looper) {
+        this.looper = looper;
+    }
+
+    public void addIdleHandler(final IdleHandler handler) {
+        looper.executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (handler.queueIdle()) {
+                    addIdleHandler(handler);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,15 @@
+// Process.java
+
+package android.os;
+
+/**
+ * Stand-in for the Android class.
+ */
+public class Process {
+
+    private static final long START = System.nanoTime() / 1000000;
+
+    public static long getStartElapsedRealtime() {
+        return START;
+    }
+}
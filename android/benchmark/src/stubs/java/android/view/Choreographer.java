@@ -0,0 +1,35 @@
+// Choreographer.java
+
+package android.view;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Stand-in for the Android class, calling frame callbacks on the main {@link Looper} every 16 ms.
+ */
+public final class Choreographer {
+
+    public interface FrameCallback {
+        void doFrame(long frameTimeNanos);
+    }
+
+    private static final Choreographer instance = new Choreographer();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private Choreographer() {
+    }
+
+    public static Choreographer getInstance() {
+        return instance;
+    }
+
+    public void postFrameCallback(final FrameCallback callback) {
+        handler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                callback.doFrame(System.nanoTime());
+            }
+        }, 16);
+    }
+}
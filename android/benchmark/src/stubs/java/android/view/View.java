@@ -0,0 +1,17 @@
+// View.java
+
+package android.view;
+
+/**
+ * Stand-in for the Android class, never laid out.
+ */
+public class View {
+
+    public int getWidth() {
+        return 0;
+    }
+
+    public int getHeight() {
+        return 0;
+    }
+}
@@ -0,0 +1,201 @@
+// CaMDOIntegration.java
+
+package com.ca.android.app;
+
+import com.ca.integration.CaMDOCallback;
+
+import android.content.Context;
+import android.location.Location;
+import android.os.Bundle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for the AXA SDK entry point.
+ * <p>
+ * It keeps the state the module reads back, counts the calls, and completes callbacks with an empty
+ * Bundle on the calling thread, so that a benchmark measures the bridge module rather than the SDK.
+ */
+public class CaMDOIntegration {
+
+    public static final int CAMAA_SCREENSHOT_QUALITY_HIGH = 0;
+    public static final int CAMAA_SCREENSHOT_QUALITY_MEDIUM = 1;
+    public static final int CAMAA_SCREENSHOT_QUALITY_LOW = 2;
+
+    private static final AtomicLong calls = new AtomicLong();
+    private static volatile boolean sdkEnabled = true;
+    private static volatile boolean privateZone;
+    private static volatile String customerId;
+    private static final Map<String, String> apmHeaders = new ConcurrentHashMap<>();
+
+    static {
+        apmHeaders.put("x-apm-bt", "deviceId=00000000-0000-0000-0000-000000000000;sessionId=0");
+    }
+
+    /**
+     * @return the number of SDK calls made so far.
+     */
+    public static long getCallCount() {
+        return calls.get();
+    }
+
+    public static void setCustomerLocation(String postalCode, String countryCode) {
+        calls.incrementAndGet();
+    }
+
+    public static void setCustomerLocation(Location location) {
+        calls.incrementAndGet();
+    }
+
+    public static void setSessionAttribute(String name, String value) {
+        calls.incrementAndGet();
+    }
+
+    public static void startApplicationTransaction(String transactionName, CaMDOCallback callback) {
+        complete(callback);
+    }
+
+    public static void startApplicationTransaction(String transactionName, String serviceName, CaMDOCallback callback) {
+        complete(callback);
+    }
+
+    public static void stopApplicationTransaction(String transactionName, CaMDOCallback callback) {
+        complete(callback);
+    }
+
+    public static void stopApplicationTransaction(String transactionName, String failure, CaMDOCallback callback) {
+        complete(callback);
+    }
+
+    public static void setCrashFeedback(String feedback) {
+        calls.incrementAndGet();
+    }
+
+    public static void setUserFeedback(String feedback) {
+        calls.incrementAndGet();
+    }
+
+    public static void enableSDK() {
+        calls.incrementAndGet();
+        sdkEnabled = true;
+    }
+
+    public static void disableSDK() {
+        calls.incrementAndGet();
+        sdkEnabled = false;
+    }
+
+    public static boolean isSDKEnabled() {
+        calls.incrementAndGet();
+        return sdkEnabled;
+    }
+
+    public static void enterPrivateZone() {
+        calls.incrementAndGet();
+        privateZone = true;
+    }
+
+    public static void exitPrivateZone() {
+        calls.incrementAndGet();
+        privateZone = false;
+    }
+
+    public static boolean isInPrivateZone() {
+        calls.incrementAndGet();
+        return privateZone;
+    }
+
+    public static void sendScreenShot(String screenName, int imageQuality, CaMDOCallback callback) {
+        complete(callback);
+    }
+
+    public static boolean isScreenshotPolicyEnabled() {
+        calls.incrementAndGet();
+        return true;
+    }
+
+    public static void stopCurrentSession() {
+        calls.incrementAndGet();
+    }
+
+    public static void startNewSession() {
+        calls.incrementAndGet();
+    }
+
+    public static void stopCurrentAndStartNewSession() {
+        calls.incrementAndGet();
+    }
+
+    public static void viewLoaded(String viewName, int loadTime, CaMDOCallback callback) {
+        complete(callback);
+    }
+
+    public static void logNetworkEvent(String url, int status, int responseTime, int inBytes, int outBytes) {
+        calls.incrementAndGet();
+    }
+
+    public static void logNetworkEvent(String url, int status, int responseTime, int inBytes, int outBytes, CaMDOCallback callback) {
+        complete(callback);
+    }
+
+    public static void uploadEvents(CaMDOCallback callback) {
+        complete(callback);
+    }
+
+    public static void logNumericMetric(String metricName, double metricValue, Map<String, String> attributes, CaMDOCallback callback) {
+        complete(callback);
+    }
+
+    public static void logTextMetric(String metricName, String metricValue, Map<String, String> attributes, CaMDOCallback callback) {
+        complete(callback);
+    }
+
+    public static Map<String, String> getAPMHeaders() {
+        calls.incrementAndGet();
+        return new HashMap<>(apmHeaders);
+    }
+
+    public static void addToApmHeader(String headerString) {
+        calls.incrementAndGet();
+        apmHeaders.put("x-apm-ext", headerString);
+    }
+
+    public static String getCustomerId() {
+        calls.incrementAndGet();
+        return customerId;
+    }
+
+    public static void setCustomerId(String id) {
+        calls.incrementAndGet();
+        customerId = id;
+    }
+
+    public static String getDeviceId() {
+        calls.incrementAndGet();
+        return "00000000-0000-0000-0000-000000000000";
+    }
+
+    public static void ignoreView(String viewName) {
+        calls.incrementAndGet();
+    }
+
+    public static void ignoreViews(Set<String> viewNames) {
+        calls.incrementAndGet();
+    }
+
+    public static void setSSLPinningMode(Context context, String pinningMode, ArrayList<byte[]> pinnedValues) {
+        calls.incrementAndGet();
+    }
+
+    private static void complete(CaMDOCallback callback) {
+        calls.incrementAndGet();
+        if (callback != null) {
+            callback.onSuccess(new Bundle());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+// CaMDOCallback.java
+
+package com.ca.integration;
+
+import android.os.Bundle;
+import android.os.Handler;
+
+/**
+ * Stand-in for the AXA SDK callback.
+ */
+public abstract class CaMDOCallback {
+
+    public static final String UPLOAD_EVENT_COUNT = "UPLOAD_EVENT_COUNT";
+
+    /** The stand-in SDK completes calls on the calling thread: the handler is not used. */
+    public CaMDOCallback(Handler handler) {
+    }
+
+    public abstract void onSuccess(Bundle data);
+
+    public abstract void onError(int errorCode, Exception exception);
+}
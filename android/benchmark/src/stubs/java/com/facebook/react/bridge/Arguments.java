@@ -0,0 +1,17 @@
+// Arguments.java
+
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native class, creating Java-only maps and arrays instead of native ones.
+ */
+public class Arguments {
+
+    public static WritableMap createMap() {
+        return new JavaOnlyMap();
+    }
+
+    public static WritableArray createArray() {
+        return new JavaOnlyArray();
+    }
+}
@@ -0,0 +1,11 @@
+// Callback.java
+
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native interface.
+ */
+public interface Callback {
+
+    void invoke(Object... args);
+}
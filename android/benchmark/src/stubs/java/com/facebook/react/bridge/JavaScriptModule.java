@@ -0,0 +1,9 @@
+// JavaScriptModule.java
+
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native interface.
+ */
+public interface JavaScriptModule {
+}
@@ -0,0 +1,15 @@
+// LifecycleEventListener.java
+
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native interface.
+ */
+public interface LifecycleEventListener {
+
+    void onHostResume();
+
+    void onHostPause();
+
+    void onHostDestroy();
+}
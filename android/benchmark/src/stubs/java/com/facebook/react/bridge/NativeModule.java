@@ -0,0 +1,11 @@
+// NativeModule.java
+
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native interface.
+ */
+public interface NativeModule {
+
+    String getName();
+}
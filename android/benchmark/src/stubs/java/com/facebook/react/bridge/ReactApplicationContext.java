@@ -0,0 +1,9 @@
+// ReactApplicationContext.java
+
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native class.
+ */
+public class ReactApplicationContext extends ReactContext {
+}
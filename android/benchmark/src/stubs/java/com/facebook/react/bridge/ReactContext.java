@@ -0,0 +1,58 @@
+// ReactContext.java
+
+package com.facebook.react.bridge;
+
+import android.content.Context;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Stand-in for the React Native class: an active instance whose JS modules discard their calls, and
+ * whose JS queue thread is a single daemon thread.
+ */
+public class ReactContext extends Context {
+
+    private static final ExecutorService jsQueue = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mqt_js");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final List<LifecycleEventListener> lifecycleEventListeners = new CopyOnWriteArrayList<>();
+
+    public boolean hasActiveReactInstance() {
+        return true;
+    }
+
+    public <T extends JavaScriptModule> T getJSModule(Class<T> jsInterface) {
+        return jsInterface.cast(Proxy.newProxyInstance(jsInterface.getClassLoader(), new Class<?>[]{jsInterface},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        return null;
+                    }
+                }));
+    }
+
+    public void runOnJSQueueThread(Runnable runnable) {
+        jsQueue.execute(runnable);
+    }
+
+    public void addLifecycleEventListener(LifecycleEventListener listener) {
+        lifecycleEventListeners.add(listener);
+    }
+
+    public void removeLifecycleEventListener(LifecycleEventListener listener) {
+        lifecycleEventListeners.remove(listener);
+    }
+}
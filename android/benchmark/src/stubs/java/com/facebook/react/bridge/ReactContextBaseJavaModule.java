@@ -0,0 +1,25 @@
+// ReactContextBaseJavaModule.java
+
+package com.facebook.react.bridge;
+
+import java.util.Map;
+
+/**
+ * Stand-in for the React Native class.
+ */
+public abstract class ReactContextBaseJavaModule implements NativeModule {
+
+    private final ReactApplicationContext reactApplicationContext;
+
+    public ReactContextBaseJavaModule(ReactApplicationContext reactContext) {
+        reactApplicationContext = reactContext;
+    }
+
+    protected final ReactApplicationContext getReactApplicationContext() {
+        return reactApplicationContext;
+    }
+
+    public Map<String, Object> getConstants() {
+        return null;
+    }
+}
@@ -0,0 +1,17 @@
+// UIManager.java
+
+package com.facebook.react.bridge;
+
+import android.view.View;
+
+/**
+ * Stand-in for the React Native interface.
+ */
+public interface UIManager {
+
+    void addUIManagerEventListener(UIManagerListener listener);
+
+    void removeUIManagerEventListener(UIManagerListener listener);
+
+    View resolveView(int reactTag);
+}
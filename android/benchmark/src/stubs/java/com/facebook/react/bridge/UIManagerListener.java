@@ -0,0 +1,15 @@
+// UIManagerListener.java
+
+package com.facebook.react.bridge;
+
+/**
+ * Stand-in for the React Native interface.
+ */
+public interface UIManagerListener {
+
+    void willDispatchViewUpdates(UIManager uiManager);
+
+    void didDispatchMountItems(UIManager uiManager);
+
+    void didScheduleMountItems(UIManager uiManager);
+}
@@ -0,0 +1,16 @@
+// DeviceEventManagerModule.java
+
+package com.facebook.react.modules.core;
+
+import com.facebook.react.bridge.JavaScriptModule;
+
+/**
+ * Stand-in for the React Native class.
+ */
+public class DeviceEventManagerModule {
+
+    public interface RCTDeviceEventEmitter extends JavaScriptModule {
+
+        void emit(String eventName, Object data);
+    }
+}
@@ -0,0 +1,16 @@
+// UIManagerHelper.java
+
+package com.facebook.react.uimanager;
+
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.UIManager;
+
+/**
+ * Stand-in for the React Native class. There is no UI: no UIManager is found.
+ */
+public class UIManagerHelper {
+
+    public static UIManager getUIManager(ReactContext context, int uiManagerType) {
+        return null;
+    }
+}
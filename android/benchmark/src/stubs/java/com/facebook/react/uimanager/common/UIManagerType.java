@@ -0,0 +1,12 @@
+// UIManagerType.java
+
+package com.facebook.react.uimanager.common;
+
+/**
+ * Stand-in for the React Native constants.
+ */
+public @interface UIManagerType {
+
+    int DEFAULT = 1;
+    int FABRIC = 2;
+}
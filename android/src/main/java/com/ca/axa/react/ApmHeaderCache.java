@@ -0,0 +1,91 @@
+// ApmHeaderCache.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import android.os.SystemClock;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Snapshot of the APM headers, read from {@link CaMDOIntegration#getAPMHeaders()} once and reused
+ * until an API that changes the headers invalidates it, or for at most {@value #TTL_MILLIS} ms: the SDK
+ * changes some headers on its own, e.g. the session id when it starts a new session after inactivity.
+ * Headers read again after the TTL that differ from the snapshot count as an invalidation.
+ * <p>
+ * Every invalidation bumps the version and emits {@link #EVENT_HEADERS_CHANGED}, so JS can keep
+ * its own copy of the headers and only fetch them again when the version changes. A snapshot carries
+ * the version read before its headers were fetched, and is only used while that version is current, so
+ * headers fetched concurrently with an invalidation are never reused.
+ */
+final class ApmHeaderCache {
+
+    static final String EVENT_HEADERS_CHANGED = "AxaApmHeadersChanged";
+
+    static final long TTL_MILLIS = 30000;
+
+    private static final AtomicInteger version = new AtomicInteger();
+    private static volatile Snapshot snapshot;
+
+    private static final class Snapshot {
+        final int version;
+        final Map<String, String> headers;
+        final long fetchedAt;
+
+        Snapshot(int version, Map<String, String> headers, long fetchedAt) {
+            this.version = version;
+            this.headers = headers;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    private ApmHeaderCache() {
+    }
+
+    /**
+     * @return the current headers. The map is shared and must not be modified.
+     */
+    static Map<String, String> getHeaders() {
+        int current = version.get();
+        Snapshot cached = snapshot;
+        long now = SystemClock.elapsedRealtime();
+        boolean valid = cached != null && cached.version == current;
+        if (valid && now - cached.fetchedAt < TTL_MILLIS) {
+            return cached.headers;
+        }
+        Map<String, String> source = CaMDOIntegration.getAPMHeaders();
+        Map<String, String> headers = source == null ? Collections.<String, String>emptyMap()
+                : Collections.unmodifiableMap(new HashMap<>(source));
+        if (valid && !headers.equals(cached.headers)) {
+            // changed by the SDK itself, e.g. a new session: the snapshot stays outdated, and JS is notified
+            SessionAttributeCache.reset();
+            invalidate();
+            return headers;
+        }
+        snapshot = new Snapshot(current, headers, now);
+        return headers;
+    }
+
+    static int getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Outdates the snapshot and notifies JS that the headers changed.
+     */
+    static void invalidate() {
+        int current = version.incrementAndGet();
+        if (AxaEventEmitter.hasListeners()) {
+            WritableMap event = Arguments.createMap();
+            event.putInt("version", current);
+            AxaEventEmitter.emit(EVENT_HEADERS_CHANGED, event);
+        }
+    }
+}
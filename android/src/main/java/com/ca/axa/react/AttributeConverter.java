@@ -0,0 +1,95 @@
+// AttributeConverter.java
+
+package com.ca.axa.react;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts JS attribute maps into the <code>Map&lt;String, String&gt;</code> expected by the SDK.
+ * <p>
+ * The ReadableMap is walked once with its key iterator. Keys are interned in a bounded pool, and the
+ * strings of small non-negative integral numbers are cached, so repeated attribute sets resolve to the
+ * same String instances. Values are not pooled: their cardinality is unbounded, and they would crowd
+ * the keys out of the pool.
+ */
+final class AttributeConverter {
+
+    private static final int MAX_POOL_SIZE = 512;
+    private static final int CACHED_NUMBERS = 1024;
+    private static final long NEGATIVE_ZERO_BITS = Double.doubleToRawLongBits(-0.0);
+
+    private static final ConcurrentHashMap<String, String> pool = new ConcurrentHashMap<>();
+    private static final String[] numberStrings = new String[CACHED_NUMBERS];
+
+    private AttributeConverter() {
+    }
+
+    static Map<String, String> toStringMap(ReadableMap data) {
+        Map<String, String> newMap = new HashMap<>();
+        if (data == null) {
+            return newMap;
+        }
+        ReadableMapKeySetIterator iterator = data.keySetIterator();
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+            newMap.put(intern(key), toString(data, key));
+        }
+        return newMap;
+    }
+
+    /**
+     * Same text as <code>"" + value</code> of the value in {@link ReadableMap#toHashMap()}.
+     */
+    private static String toString(ReadableMap data, String key) {
+        ReadableType type = data.getType(key);
+        switch (type) {
+            case Null:
+                return "null";
+            case Boolean:
+                return data.getBoolean(key) ? "true" : "false";
+            case Number:
+                return toString(data.getDouble(key));
+            case String:
+                return data.getString(key);
+            case Map:
+                return String.valueOf(data.getMap(key).toHashMap());
+            case Array:
+                return String.valueOf(data.getArray(key).toArrayList());
+            default:
+                return String.valueOf(data.toHashMap().get(key));
+        }
+    }
+
+    private static String toString(double value) {
+        // -0.0 passes the range check but prints as "-0.0": it must not share the slot of 0.0
+        if (value >= 0 && value < CACHED_NUMBERS && value == Math.rint(value)
+                && Double.doubleToRawLongBits(value) != NEGATIVE_ZERO_BITS) {
+            int index = (int) value;
+            String cached = numberStrings[index];
+            if (cached == null) {
+                cached = Double.toString(value);
+                numberStrings[index] = cached;
+            }
+            return cached;
+        }
+        return Double.toString(value);
+    }
+
+    private static String intern(String value) {
+        String pooled = pool.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (pool.size() >= MAX_POOL_SIZE) {
+            return value;
+        }
+        pooled = pool.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+}
@@ -0,0 +1,49 @@
+// AxaEventEmitter.java
+
+package com.ca.axa.react;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+/**
+ * Emits module events to JS through RCTDeviceEventEmitter.
+ */
+final class AxaEventEmitter {
+
+    private static volatile ReactApplicationContext reactContext;
+    private static volatile int listenerCount;
+
+    private AxaEventEmitter() {
+    }
+
+    /**
+     * Listeners registered from a previous React instance are gone with its JS context, so they are
+     * no longer counted once a new context is attached.
+     */
+    static synchronized void attach(ReactApplicationContext context) {
+        if (context != reactContext) {
+            listenerCount = 0;
+        }
+        reactContext = context;
+    }
+
+    static synchronized void addListener() {
+        listenerCount++;
+    }
+
+    static synchronized void removeListeners(int count) {
+        listenerCount = Math.max(0, listenerCount - count);
+    }
+
+    static boolean hasListeners() {
+        return listenerCount > 0;
+    }
+
+    static void emit(String eventName, Object data) {
+        ReactApplicationContext context = reactContext;
+        if (context == null || !context.hasActiveReactInstance()) {
+            return;
+        }
+        context.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(eventName, data);
+    }
+}
@@ -0,0 +1,153 @@
+// AxaLog.java
+
+package com.ca.axa.react;
+
+import android.util.Log;
+
+/**
+ * Level-gated logging for the bridge module.
+ * <p>
+ * Messages are formatted only when their level is enabled: arguments are substituted for the
+ * <code>{}</code> placeholders of the format, so a disabled call costs a level check and never
+ * calls <code>toString</code> on a map or Bundle. Optionally keeps the most recent lines in memory.
+ */
+final class AxaLog {
+
+    static final String TAG = ReactNativeAxaMobileSdkModule.TAG;
+
+    private static volatile int level = Log.WARN;
+    private static volatile String[] recentLines;
+    private static int recentNext;
+
+    private AxaLog() {
+    }
+
+    /**
+     * @param name one of verbose, debug, info, warn, error or none
+     */
+    static void setLevel(String name) {
+        level = parseLevel(name);
+    }
+
+    static boolean isLoggable(int priority) {
+        return priority >= level;
+    }
+
+    /**
+     * Keeps the last <code>capacity</code> logged lines in memory. 0 disables the buffer.
+     */
+    static synchronized void setBufferCapacity(int capacity) {
+        recentLines = capacity > 0 ? new String[capacity] : null;
+        recentNext = 0;
+    }
+
+    /**
+     * @return the buffered lines, oldest first.
+     */
+    static synchronized String[] getRecentLines() {
+        String[] lines = recentLines;
+        if (lines == null) {
+            return new String[0];
+        }
+        int count = 0;
+        for (String line : lines) {
+            if (line != null) {
+                count++;
+            }
+        }
+        String[] result = new String[count];
+        int index = 0;
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[(recentNext + i) % lines.length];
+            if (line != null) {
+                result[index++] = line;
+            }
+        }
+        return result;
+    }
+
+    static void d(String format) {
+        if (isLoggable(Log.DEBUG)) {
+            println(Log.DEBUG, format);
+        }
+    }
+
+    static void d(String format, Object arg1) {
+        if (isLoggable(Log.DEBUG)) {
+            println(Log.DEBUG, format(format, arg1, null, null));
+        }
+    }
+
+    static void d(String format, Object arg1, Object arg2) {
+        if (isLoggable(Log.DEBUG)) {
+            println(Log.DEBUG, format(format, arg1, arg2, null));
+        }
+    }
+
+    static void d(String format, Object arg1, Object arg2, Object arg3) {
+        if (isLoggable(Log.DEBUG)) {
+            println(Log.DEBUG, format(format, arg1, arg2, arg3));
+        }
+    }
+
+    static void w(String format, Object arg1) {
+        if (isLoggable(Log.WARN)) {
+            println(Log.WARN, format(format, arg1, null, null));
+        }
+    }
+
+    static void e(String format, Object arg1) {
+        if (isLoggable(Log.ERROR)) {
+            println(Log.ERROR, format(format, arg1, null, null));
+        }
+    }
+
+    private static void println(int priority, String message) {
+        Log.println(priority, TAG, message);
+        String[] lines = recentLines;
+        if (lines != null) {
+            synchronized (AxaLog.class) {
+                if (lines == recentLines) {
+                    lines[recentNext] = message;
+                    recentNext = (recentNext + 1) % lines.length;
+                }
+            }
+        }
+    }
+
+    private static String format(String format, Object arg1, Object arg2, Object arg3) {
+        StringBuilder builder = new StringBuilder(format.length() + 32);
+        int argIndex = 0;
+        int start = 0;
+        int index;
+        while ((index = format.indexOf("{}", start)) >= 0) {
+            builder.append(format, start, index);
+            builder.append(argIndex == 0 ? arg1 : argIndex == 1 ? arg2 : arg3);
+            argIndex++;
+            start = index + 2;
+        }
+        builder.append(format, start, format.length());
+        return builder.toString();
+    }
+
+    private static int parseLevel(String name) {
+        if (name == null) {
+            return Log.WARN;
+        }
+        switch (name.toLowerCase()) {
+            case "verbose":
+                return Log.VERBOSE;
+            case "debug":
+                return Log.DEBUG;
+            case "info":
+                return Log.INFO;
+            case "error":
+                return Log.ERROR;
+            case "none":
+                return Integer.MAX_VALUE;
+            case "warn":
+            default:
+                return Log.WARN;
+        }
+    }
+}
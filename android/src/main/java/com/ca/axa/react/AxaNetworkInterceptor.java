@@ -0,0 +1,175 @@
+// AxaNetworkInterceptor.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import android.os.SystemClock;
+
+import java.io.IOException;
+import java.util.Map;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * OkHttp interceptor that adds the APM headers to every request and logs the resulting
+ * network event natively, so that JS does not have to call getAPMHeaders / logNetworkEvent.
+ * <p>
+ * The response body is counted as it is read, and the event is logged once the body is fully read
+ * or closed: the response time includes the body download, and the received bytes are those read by
+ * the app, also for chunked and gzip responses, which have no Content-Length at this level.
+ */
+public class AxaNetworkInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Map<String, String> headers = ApmHeaderCache.getHeaders();
+        if (!headers.isEmpty()) {
+            Request.Builder builder = request.newBuilder();
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                if (header.getKey() != null && header.getValue() != null) {
+                    builder.header(header.getKey(), header.getValue());
+                }
+            }
+            request = builder.build();
+        }
+
+        String url = request.url().toString();
+        int outBytes = contentLength(request.body());
+        long start = SystemClock.elapsedRealtime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            logNetworkEvent(url, 0, start, 0, outBytes);
+            throw e;
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            logNetworkEvent(url, response.code(), start, 0, outBytes);
+            return response;
+        }
+        return response.newBuilder()
+                .body(new CountingResponseBody(body, url, response.code(), start, outBytes))
+                .build();
+    }
+
+    private static void logNetworkEvent(final String url, final int status, long start, final int inBytes, final int outBytes) {
+        if (!EventGovernor.admitNetworkEvent(url)) {
+            return;
+        }
+        final int responseTime = (int) (SystemClock.elapsedRealtime() - start);
+        SdkExecutor.executeDroppable(new Runnable() {
+            @Override
+            public void run() {
+                String normalized = UrlNormalizer.normalize(url);
+                if (!EventJournal.isActive() || !EventJournal.appendNetwork(normalized, status, responseTime, inBytes, outBytes)) {
+                    CaMDOIntegration.logNetworkEvent(normalized, status, responseTime, inBytes, outBytes);
+                    UploadScheduler.onEventsQueued(1);
+                }
+            }
+        }, null);
+    }
+
+    private static int contentLength(RequestBody body) {
+        try {
+            return body == null ? 0 : (int) Math.max(0, body.contentLength());
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Response body counting the bytes read, which logs the network event when it is exhausted, fails
+     * or is closed.
+     */
+    private static final class CountingResponseBody extends ResponseBody {
+
+        private final ResponseBody delegate;
+        private final String url;
+        private final int status;
+        private final long start;
+        private final int outBytes;
+        private BufferedSource source;
+        private long bytesRead;
+        private boolean logged;
+
+        CountingResponseBody(ResponseBody delegate, String url, int status, long start, int outBytes) {
+            this.delegate = delegate;
+            this.url = url;
+            this.status = status;
+            this.start = start;
+            this.outBytes = outBytes;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public synchronized BufferedSource source() {
+            if (source == null) {
+                source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                    @Override
+                    public long read(Buffer sink, long byteCount) throws IOException {
+                        long read;
+                        try {
+                            read = super.read(sink, byteCount);
+                        } catch (IOException e) {
+                            finish();
+                            throw e;
+                        }
+                        if (read == -1) {
+                            finish();
+                        } else {
+                            count(read);
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            finish();
+                        }
+                    }
+                });
+            }
+            return source;
+        }
+
+        private synchronized void count(long read) {
+            bytesRead += read;
+        }
+
+        private void finish() {
+            int inBytes;
+            synchronized (this) {
+                if (logged) {
+                    return;
+                }
+                logged = true;
+                inBytes = (int) Math.min(Integer.MAX_VALUE, bytesRead);
+            }
+            logNetworkEvent(url, status, start, inBytes, outBytes);
+        }
+    }
+}
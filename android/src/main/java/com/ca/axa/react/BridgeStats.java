@@ -0,0 +1,195 @@
+// BridgeStats.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import android.os.Handler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Optional instrumentation of the bridge module: per method call counts, error counts, and
+ * fixed-bucket histograms of the time spent in the method and of the time until the SDK callback.
+ * <p>
+ * Disabled by default, in which case {@link #start()} returns 0 and nothing is recorded.
+ */
+final class BridgeStats {
+
+    static final String METRIC_CALLS = "axa.bridge.calls";
+    static final String METRIC_NATIVE_TIME = "axa.bridge.nativeTimeUs";
+
+    /** Upper bounds of the histogram buckets in microseconds, the last bucket is unbounded. */
+    private static final long[] BUCKET_BOUNDS_US = {50, 100, 250, 500, 1000, 2500, 5000, 10000, 50000};
+
+    private static final ConcurrentHashMap<String, MethodStats> methods = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+    private static volatile long reportIntervalMillis;
+
+    private static final Runnable reportCall = new Runnable() {
+        @Override
+        public void run() {
+            report();
+        }
+    };
+
+    private static final Runnable reportTask = new Runnable() {
+        @Override
+        public void run() {
+            long interval = reportIntervalMillis;
+            if (!enabled || interval <= 0) {
+                return;
+            }
+            SdkExecutor.executeDroppable(reportCall, null);
+            CallbackDispatcher.getHandler().postDelayed(this, interval);
+        }
+    };
+
+    private static final class MethodStats {
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong nativeNanos = new AtomicLong();
+        final AtomicLongArray nativeHistogram = new AtomicLongArray(BUCKET_BOUNDS_US.length + 1);
+        final AtomicLongArray callbackHistogram = new AtomicLongArray(BUCKET_BOUNDS_US.length + 1);
+
+        // only accessed by the report call, on the SDK executor
+        long reportedCalls;
+        long reportedNativeNanos;
+    }
+
+    private BridgeStats() {
+    }
+
+    /**
+     * Enables or disables the instrumentation.
+     *
+     * @param enable               true to record
+     * @param reportIntervalSeconds when &gt; 0, the stats are also logged as numeric metrics at this interval
+     */
+    static void setEnabled(boolean enable, int reportIntervalSeconds) {
+        enabled = enable;
+        reportIntervalMillis = enable && reportIntervalSeconds > 0 ? reportIntervalSeconds * 1000L : 0;
+        Handler handler = CallbackDispatcher.getHandler();
+        handler.removeCallbacks(reportTask);
+        if (reportIntervalMillis > 0) {
+            handler.postDelayed(reportTask, reportIntervalMillis);
+        }
+    }
+
+    /**
+     * @return the start timestamp to pass to {@link #record(String, long)}, 0 when disabled.
+     */
+    static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records one call of a method, from the timestamp returned by {@link #start()}.
+     */
+    static void record(String method, long start) {
+        if (start == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        MethodStats stats = get(method);
+        stats.calls.incrementAndGet();
+        stats.nativeNanos.addAndGet(elapsed);
+        stats.nativeHistogram.incrementAndGet(bucket(elapsed));
+    }
+
+    /**
+     * Records the time from the call until its SDK callback, from the timestamp returned by {@link #start()}.
+     */
+    static void recordCallback(String method, long start, boolean error) {
+        if (start == 0) {
+            return;
+        }
+        MethodStats stats = get(method);
+        stats.callbackHistogram.incrementAndGet(bucket(System.nanoTime() - start));
+        if (error) {
+            stats.errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the stats of every called method, keyed by method name.
+     */
+    static WritableMap toWritableMap() {
+        WritableMap result = Arguments.createMap();
+        for (Map.Entry<String, MethodStats> entry : methods.entrySet()) {
+            MethodStats stats = entry.getValue();
+            WritableMap method = Arguments.createMap();
+            method.putDouble("calls", stats.calls.get());
+            method.putDouble("errors", stats.errors.get());
+            method.putDouble("nativeTimeUs", stats.nativeNanos.get() / 1000d);
+            method.putArray("nativeHistogram", toWritableArray(stats.nativeHistogram));
+            method.putArray("callbackHistogram", toWritableArray(stats.callbackHistogram));
+            result.putMap(entry.getKey(), method);
+        }
+        WritableArray bounds = Arguments.createArray();
+        for (long bound : BUCKET_BOUNDS_US) {
+            bounds.pushDouble(bound);
+        }
+        WritableMap stats = Arguments.createMap();
+        stats.putArray("bucketBoundsUs", bounds);
+        stats.putMap("methods", result);
+        return stats;
+    }
+
+    private static void report() {
+        for (Map.Entry<String, MethodStats> entry : methods.entrySet()) {
+            MethodStats stats = entry.getValue();
+            long calls = stats.calls.get();
+            long nativeNanos = stats.nativeNanos.get();
+            long newCalls = calls - stats.reportedCalls;
+            if (newCalls == 0) {
+                continue;
+            }
+            Map<String, String> attributes = new HashMap<>();
+            attributes.put("method", entry.getKey());
+            CaMDOIntegration.logNumericMetric(METRIC_CALLS, (double) newCalls, attributes, null);
+            CaMDOIntegration.logNumericMetric(METRIC_NATIVE_TIME,
+                    (nativeNanos - stats.reportedNativeNanos) / 1000d / newCalls, attributes, null);
+            stats.reportedCalls = calls;
+            stats.reportedNativeNanos = nativeNanos;
+        }
+    }
+
+    private static MethodStats get(String method) {
+        MethodStats stats = methods.get(method);
+        if (stats == null) {
+            MethodStats created = new MethodStats();
+            stats = methods.putIfAbsent(method, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+        return stats;
+    }
+
+    private static int bucket(long elapsedNanos) {
+        long micros = elapsedNanos / 1000;
+        for (int i = 0; i < BUCKET_BOUNDS_US.length; i++) {
+            if (micros < BUCKET_BOUNDS_US[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_US.length;
+    }
+
+    private static WritableArray toWritableArray(AtomicLongArray histogram) {
+        WritableArray array = Arguments.createArray();
+        for (int i = 0; i < histogram.length(); i++) {
+            array.pushDouble(histogram.get(i));
+        }
+        return array;
+    }
+}
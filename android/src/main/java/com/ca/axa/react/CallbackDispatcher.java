@@ -0,0 +1,113 @@
+// CallbackDispatcher.java
+
+package com.ca.axa.react;
+
+import com.facebook.react.bridge.Callback;
+
+import com.ca.integration.CaMDOCallback;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+
+/**
+ * Delivers SDK results back to JS callbacks through one shared, Looper-bound {@link Handler},
+ * instead of allocating a new Handler for every call.
+ * <p>
+ * Calls made without a JS callback get no {@link CaMDOCallback} at all, so fire-and-forget calls
+ * allocate nothing here. Calls whose results are streamed through {@link ResultStream} pass their
+ * streaming callback, which is used as is.
+ */
+final class CallbackDispatcher {
+
+    private static volatile Handler handler;
+
+    private CallbackDispatcher() {
+    }
+
+    /**
+     * Wraps the JS callback for an SDK call. The callback is invoked with the error / bundle data only.
+     *
+     * @param method name of the module method, for {@link BridgeStats}
+     * @param start  timestamp returned by {@link BridgeStats#start()}
+     * @return the SDK callback, or null without a JS callback.
+     */
+    static CaMDOCallback wrap(String method, Callback callback, long start) {
+        if (callback instanceof ResultStream.StreamingCallback) {
+            return (ResultStream.StreamingCallback) callback;
+        }
+        return callback == null ? null : new ForwardingCallback(method, callback, start, false);
+    }
+
+    /**
+     * Wraps the JS callback for an SDK call. The callback is invoked with a leading success flag,
+     * followed by the error / bundle data.
+     *
+     * @param method name of the module method, for {@link BridgeStats}
+     * @param start  timestamp returned by {@link BridgeStats#start()}
+     * @return the SDK callback, or null without a JS callback.
+     */
+    static CaMDOCallback wrapWithStatus(String method, Callback callback, long start) {
+        if (callback instanceof ResultStream.StreamingCallback) {
+            return (ResultStream.StreamingCallback) callback;
+        }
+        return callback == null ? null : new ForwardingCallback(method, callback, start, true);
+    }
+
+    /**
+     * @return the shared handler, also used by the module for its own scheduled work.
+     */
+    static Handler getHandler() {
+        Handler local = handler;
+        if (local == null) {
+            synchronized (CallbackDispatcher.class) {
+                local = handler;
+                if (local == null) {
+                    HandlerThread thread = new HandlerThread("AxaCallbackDispatcher");
+                    thread.start();
+                    local = new Handler(thread.getLooper());
+                    handler = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    private static final class ForwardingCallback extends CaMDOCallback {
+
+        private final String method;
+        private final Callback callback;
+        private final long start;
+        private final boolean withStatus;
+
+        ForwardingCallback(String method, Callback callback, long start, boolean withStatus) {
+            super(getHandler());
+            this.method = method;
+            this.callback = callback;
+            this.start = start;
+            this.withStatus = withStatus;
+        }
+
+        @Override
+        public void onError(int errorCode, Exception exception) {
+            BridgeStats.recordCallback(method, start, true);
+            Object error = ReactNativeAxaMobileSdkModule.getErrorResult(errorCode, exception);
+            if (withStatus) {
+                callback.invoke(false, error);
+            } else {
+                callback.invoke(error);
+            }
+        }
+
+        @Override
+        public void onSuccess(Bundle data) {
+            BridgeStats.recordCallback(method, start, false);
+            Object result = ReactNativeAxaMobileSdkModule.getBundleResult(data);
+            if (withStatus) {
+                callback.invoke(true, result);
+            } else {
+                callback.invoke(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+// EventGovernor.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import android.os.Handler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Sampling and token-bucket rate limiting for network events and metrics, in front of the SDK.
+ * <p>
+ * Rules are matched in order against the URL of a network event or the name of a metric, using
+ * glob patterns where <code>*</code> matches any text. The first matching rule applies its sample
+ * rate, then its token bucket. Events matching no rule are always forwarded. Every rule counts
+ * what it forwarded and dropped, and forwarded metrics of a sampled rule carry their sample rate in
+ * the {@link #ATTRIBUTE_SAMPLE_RATE} attribute so that dashboards can re-weight them.
+ * <p>
+ * Sampled network events carry no attribute, and rate limited drops are not reflected in any sample
+ * rate, so the counts of every rule are also logged periodically as the {@link #METRIC_FORWARDED},
+ * {@link #METRIC_SAMPLED_OUT} and {@link #METRIC_RATE_LIMITED} numeric metrics, with the rule kind
+ * and pattern as attributes: dashboards re-weight from them.
+ */
+final class EventGovernor {
+
+    static final String ATTRIBUTE_SAMPLE_RATE = "axa.sampleRate";
+    static final String METRIC_FORWARDED = "axa.governor.forwarded";
+    static final String METRIC_SAMPLED_OUT = "axa.governor.sampledOut";
+    static final String METRIC_RATE_LIMITED = "axa.governor.rateLimited";
+
+    private static final int DEFAULT_REPORT_INTERVAL_SECONDS = 60;
+
+    private static final Rule[] NO_RULES = new Rule[0];
+    private static final Random random = new Random();
+
+    private static volatile Rule[] networkRules = NO_RULES;
+    private static volatile Rule[] metricRules = NO_RULES;
+    private static volatile long reportIntervalMillis;
+
+    private static final Runnable reportTask = new Runnable() {
+        @Override
+        public void run() {
+            long interval = reportIntervalMillis;
+            if (interval <= 0) {
+                return;
+            }
+            report(networkRules, metricRules);
+            CallbackDispatcher.getHandler().postDelayed(this, interval);
+        }
+    };
+
+    private static final class Rule {
+        final String glob;
+        final Pattern pattern;
+        final double sampleRate;
+        final double ratePerSecond;
+        final double burst;
+
+        final AtomicLong forwarded = new AtomicLong();
+        final AtomicLong sampledOut = new AtomicLong();
+        final AtomicLong rateLimited = new AtomicLong();
+
+        // only accessed by the report call, on the SDK executor
+        long reportedForwarded;
+        long reportedSampledOut;
+        long reportedRateLimited;
+
+        private double tokens;
+        private long lastRefill;
+
+        Rule(String glob, double sampleRate, double ratePerSecond, double burst) {
+            this.glob = glob;
+            this.pattern = compileGlob(glob);
+            this.sampleRate = sampleRate;
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+            this.tokens = burst;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /**
+         * @return the sample rate when the event is forwarded, 0 when it is dropped.
+         */
+        double admit() {
+            if (sampleRate < 1 && random.nextDouble() >= sampleRate) {
+                sampledOut.incrementAndGet();
+                return 0;
+            }
+            if (ratePerSecond > 0 && !tryAcquire()) {
+                rateLimited.incrementAndGet();
+                return 0;
+            }
+            forwarded.incrementAndGet();
+            return sampleRate;
+        }
+
+        private synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefill) / 1e9 * ratePerSecond);
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+
+    private EventGovernor() {
+    }
+
+    /**
+     * Replaces the rules. The config holds optional <code>network</code> and <code>metrics</code>
+     * arrays of rules, each with a <code>pattern</code>, and optionally a <code>sampleRate</code>
+     * (0 to 1, default 1), a <code>ratePerSecond</code> (default unlimited) and a <code>burst</code>
+     * (default ratePerSecond), and an optional <code>reportIntervalSeconds</code> for the count metrics
+     * (default 60, 0 to not log them). The counts of the rules replaced are logged first.
+     */
+    static void configure(ReadableMap config) {
+        report(networkRules, metricRules);
+        networkRules = parseRules(config, "network");
+        metricRules = parseRules(config, "metrics");
+        int seconds = config != null && config.hasKey("reportIntervalSeconds")
+                ? config.getInt("reportIntervalSeconds") : DEFAULT_REPORT_INTERVAL_SECONDS;
+        reportIntervalMillis = networkRules.length + metricRules.length > 0 ? Math.max(0, seconds) * 1000L : 0;
+        Handler handler = CallbackDispatcher.getHandler();
+        handler.removeCallbacks(reportTask);
+        if (reportIntervalMillis > 0) {
+            handler.postDelayed(reportTask, reportIntervalMillis);
+        }
+    }
+
+    /**
+     * @return true when the network event of this URL should be forwarded to the SDK.
+     */
+    static boolean admitNetworkEvent(String url) {
+        Rule rule = match(networkRules, url);
+        return rule == null || rule.admit() > 0;
+    }
+
+    /**
+     * @return the sample rate of the metric when it should be forwarded to the SDK, 0 when it is dropped.
+     */
+    static double admitMetric(String name) {
+        Rule rule = match(metricRules, name);
+        return rule == null ? 1 : rule.admit();
+    }
+
+    /**
+     * Adds the sample rate attribute to the attributes of a sampled metric.
+     */
+    static Map<String, String> tagSampleRate(Map<String, String> attributes, double sampleRate) {
+        if (sampleRate < 1) {
+            attributes.put(ATTRIBUTE_SAMPLE_RATE, Double.toString(sampleRate));
+        }
+        return attributes;
+    }
+
+    /**
+     * @return the counters of every rule.
+     */
+    static WritableArray toWritableArray() {
+        WritableArray result = Arguments.createArray();
+        appendStats(result, "network", networkRules);
+        appendStats(result, "metrics", metricRules);
+        return result;
+    }
+
+    private static void appendStats(WritableArray result, String kind, Rule[] rules) {
+        for (Rule rule : rules) {
+            WritableMap stats = Arguments.createMap();
+            stats.putString("kind", kind);
+            stats.putString("pattern", rule.glob);
+            stats.putDouble("forwarded", rule.forwarded.get());
+            stats.putDouble("sampledOut", rule.sampledOut.get());
+            stats.putDouble("rateLimited", rule.rateLimited.get());
+            result.pushMap(stats);
+        }
+    }
+
+    /**
+     * Logs the counts of the rules since their last report, on the SDK executor.
+     */
+    private static void report(final Rule[] network, final Rule[] metrics) {
+        if (network.length + metrics.length == 0) {
+            return;
+        }
+        SdkExecutor.executeDroppable(new Runnable() {
+            @Override
+            public void run() {
+                logCounts("network", network);
+                logCounts("metrics", metrics);
+            }
+        }, null);
+    }
+
+    private static void logCounts(String kind, Rule[] rules) {
+        for (Rule rule : rules) {
+            long forwarded = rule.forwarded.get();
+            long sampledOut = rule.sampledOut.get();
+            long rateLimited = rule.rateLimited.get();
+            if (forwarded == rule.reportedForwarded && sampledOut == rule.reportedSampledOut
+                    && rateLimited == rule.reportedRateLimited) {
+                continue;
+            }
+            Map<String, String> attributes = new HashMap<>();
+            attributes.put("kind", kind);
+            attributes.put("pattern", rule.glob);
+            CaMDOIntegration.logNumericMetric(METRIC_FORWARDED, (double) (forwarded - rule.reportedForwarded),
+                    attributes, null);
+            CaMDOIntegration.logNumericMetric(METRIC_SAMPLED_OUT, (double) (sampledOut - rule.reportedSampledOut),
+                    new HashMap<>(attributes), null);
+            CaMDOIntegration.logNumericMetric(METRIC_RATE_LIMITED, (double) (rateLimited - rule.reportedRateLimited),
+                    new HashMap<>(attributes), null);
+            rule.reportedForwarded = forwarded;
+            rule.reportedSampledOut = sampledOut;
+            rule.reportedRateLimited = rateLimited;
+        }
+    }
+
+    private static Rule match(Rule[] rules, String value) {
+        if (value == null) {
+            return null;
+        }
+        for (Rule rule : rules) {
+            if (rule.pattern.matcher(value).matches()) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static Rule[] parseRules(ReadableMap config, String key) {
+        if (config == null || !config.hasKey(key) || config.getType(key) != ReadableType.Array) {
+            return NO_RULES;
+        }
+        ReadableArray array = config.getArray(key);
+        Rule[] rules = new Rule[array.size()];
+        int count = 0;
+        for (int i = 0; i < array.size(); i++) {
+            if (array.getType(i) != ReadableType.Map) {
+                continue;
+            }
+            ReadableMap entry = array.getMap(i);
+            if (!entry.hasKey("pattern")) {
+                continue;
+            }
+            double sampleRate = getDouble(entry, "sampleRate", 1);
+            double ratePerSecond = getDouble(entry, "ratePerSecond", 0);
+            double burst = getDouble(entry, "burst", Math.max(1, ratePerSecond));
+            rules[count++] = new Rule(entry.getString("pattern"),
+                    Math.max(0, Math.min(1, sampleRate)), ratePerSecond, burst);
+        }
+        Rule[] result = new Rule[count];
+        System.arraycopy(rules, 0, result, 0, count);
+        return result;
+    }
+
+    private static double getDouble(ReadableMap map, String key, double fallback) {
+        return map.hasKey(key) && !map.isNull(key) ? map.getDouble(key) : fallback;
+    }
+
+    static Pattern compileGlob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int start = 0;
+        int index;
+        while ((index = glob.indexOf('*', start)) >= 0) {
+            regex.append(Pattern.quote(glob.substring(start, index))).append(".*");
+            start = index + 1;
+        }
+        regex.append(Pattern.quote(glob.substring(start)));
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,301 @@
+// EventJournal.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import android.content.Context;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persistent journal of the events logged while the SDK is not initialized yet or disabled.
+ * <p>
+ * Metrics, network events and session attributes are appended to a memory-mapped, size-capped file
+ * in a compact binary format. The write position is stored in the file header and updated after each
+ * record, so a record is either fully journaled or not at all. Events that do not fit are dropped.
+ * The journal is replayed into the SDK in one pass once it is enabled, also across app restarts.
+ */
+final class EventJournal {
+
+    static final String FILE_NAME = "axa_event_journal.bin";
+
+    private static final int MAGIC = 0x41584a31;
+    private static final int HEADER_SIZE = 8;
+    private static final int POSITION_OFFSET = 4;
+    private static final int DEFAULT_MAX_BYTES = 256 * 1024;
+    private static final int MIN_MAX_BYTES = 4 * 1024;
+    private static final int NULL_STRING = 0xffff;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final byte TYPE_NUMERIC = 1;
+    private static final byte TYPE_TEXT = 2;
+    private static final byte TYPE_NETWORK = 3;
+    private static final byte TYPE_SESSION_ATTRIBUTE = 4;
+
+    private static volatile Context appContext;
+    private static volatile boolean enabled;
+
+    /** Guarded by EventJournal.class. */
+    private static MappedByteBuffer buffer;
+    private static int dropped;
+
+    private EventJournal() {
+    }
+
+    static void attach(Context context) {
+        appContext = context.getApplicationContext();
+    }
+
+    /**
+     * Enables or disables journaling. The config holds an optional <code>maxBytes</code>, the size of
+     * the journal file; null disables journaling, events still journaled are kept for the next time
+     * it is enabled.
+     */
+    static synchronized void configure(ReadableMap config) {
+        Context context = appContext;
+        if (config == null || context == null) {
+            enabled = false;
+            buffer = null;
+            return;
+        }
+        int maxBytes = Math.max(MIN_MAX_BYTES,
+                config.hasKey("maxBytes") ? config.getInt("maxBytes") : DEFAULT_MAX_BYTES);
+        try {
+            buffer = open(new File(context.getFilesDir(), FILE_NAME), maxBytes);
+            enabled = true;
+        } catch (IOException e) {
+            AxaLog.e("@ EventJournal could not be opened {}", e);
+            enabled = false;
+            buffer = null;
+            return;
+        }
+        if (CaMDOIntegration.isSDKEnabled()) {
+            // after the SDK calls already queued, before any later one
+            SdkExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    replay();
+                }
+            });
+        }
+    }
+
+    /**
+     * @return true when events should be journaled instead of being logged to the SDK.
+     */
+    static boolean isActive() {
+        return enabled && !CaMDOIntegration.isSDKEnabled();
+    }
+
+    static synchronized boolean appendNumeric(String name, double value, Map<String, String> attributes) {
+        int start = begin(TYPE_NUMERIC);
+        if (start < 0) {
+            return false;
+        }
+        try {
+            putString(name);
+            buffer.putDouble(value);
+            putAttributes(attributes);
+        } catch (BufferOverflowException e) {
+            return abort(start);
+        }
+        return commit();
+    }
+
+    static synchronized boolean appendText(String name, String value, Map<String, String> attributes) {
+        int start = begin(TYPE_TEXT);
+        if (start < 0) {
+            return false;
+        }
+        try {
+            putString(name);
+            putString(value);
+            putAttributes(attributes);
+        } catch (BufferOverflowException e) {
+            return abort(start);
+        }
+        return commit();
+    }
+
+    static synchronized boolean appendNetwork(String url, int status, int responseTime, int inBytes, int outBytes) {
+        int start = begin(TYPE_NETWORK);
+        if (start < 0) {
+            return false;
+        }
+        try {
+            putString(url);
+            buffer.putInt(status);
+            buffer.putInt(responseTime);
+            buffer.putInt(inBytes);
+            buffer.putInt(outBytes);
+        } catch (BufferOverflowException e) {
+            return abort(start);
+        }
+        return commit();
+    }
+
+    static synchronized boolean appendSessionAttribute(String name, String value) {
+        int start = begin(TYPE_SESSION_ATTRIBUTE);
+        if (start < 0) {
+            return false;
+        }
+        try {
+            putString(name);
+            putString(value);
+        } catch (BufferOverflowException e) {
+            return abort(start);
+        }
+        return commit();
+    }
+
+    /**
+     * Logs every journaled event to the SDK, in order, and empties the journal. Runs on the
+     * {@link SdkExecutor}, so the journaled events reach the SDK before the calls made after it was enabled.
+     */
+    static synchronized void replay() {
+        if (buffer == null || !CaMDOIntegration.isSDKEnabled()) {
+            return;
+        }
+        int end = buffer.getInt(POSITION_OFFSET);
+        buffer.position(HEADER_SIZE);
+        int replayed = 0;
+        try {
+            while (buffer.position() < end) {
+                byte type = buffer.get();
+                switch (type) {
+                    case TYPE_NUMERIC:
+                        CaMDOIntegration.logNumericMetric(getString(), buffer.getDouble(), getAttributes(), null);
+                        break;
+                    case TYPE_TEXT:
+                        CaMDOIntegration.logTextMetric(getString(), getString(), getAttributes(), null);
+                        break;
+                    case TYPE_NETWORK:
+                        CaMDOIntegration.logNetworkEvent(getString(), buffer.getInt(), buffer.getInt(),
+                                buffer.getInt(), buffer.getInt());
+                        break;
+                    case TYPE_SESSION_ATTRIBUTE:
+                        CaMDOIntegration.setSessionAttribute(getString(), getString());
+                        break;
+                    default:
+                        throw new BufferUnderflowException();
+                }
+                replayed++;
+            }
+        } catch (BufferUnderflowException e) {
+            AxaLog.w("@ EventJournal corrupted after {} events", replayed);
+        }
+        buffer.putInt(POSITION_OFFSET, HEADER_SIZE);
+        AxaLog.d("@ EventJournal replayed {} events, {} dropped", replayed, dropped);
+        dropped = 0;
+    }
+
+    private static MappedByteBuffer open(File file, int maxBytes) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            boolean valid = false;
+            if (randomAccessFile.length() >= HEADER_SIZE) {
+                int magic = randomAccessFile.readInt();
+                int position = randomAccessFile.readInt();
+                valid = magic == MAGIC && position >= HEADER_SIZE && position <= maxBytes;
+            }
+            randomAccessFile.setLength(maxBytes);
+            MappedByteBuffer mapped = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, maxBytes);
+            if (!valid) {
+                mapped.putInt(0, MAGIC);
+                mapped.putInt(POSITION_OFFSET, HEADER_SIZE);
+            }
+            return mapped;
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * @return the start of the new record, or -1 when not journaling.
+     */
+    private static int begin(byte type) {
+        if (buffer == null) {
+            return -1;
+        }
+        int start = buffer.getInt(POSITION_OFFSET);
+        buffer.position(start);
+        try {
+            buffer.put(type);
+        } catch (BufferOverflowException e) {
+            abort(start);
+            return -1;
+        }
+        return start;
+    }
+
+    private static boolean commit() {
+        buffer.putInt(POSITION_OFFSET, buffer.position());
+        return true;
+    }
+
+    private static boolean abort(int start) {
+        buffer.position(start);
+        if (dropped++ == 0) {
+            AxaLog.w("@ EventJournal full at {} bytes, dropping events", buffer.capacity());
+        }
+        return false;
+    }
+
+    private static void putString(String value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        if (bytes.length >= NULL_STRING) {
+            throw new BufferOverflowException();
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString() {
+        int length = buffer.getShort() & 0xffff;
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void putAttributes(Map<String, String> attributes) {
+        int size = attributes == null ? 0 : attributes.size();
+        if (size >= NULL_STRING) {
+            throw new BufferOverflowException();
+        }
+        buffer.putShort((short) size);
+        if (attributes != null) {
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                putString(attribute.getKey());
+                putString(attribute.getValue());
+            }
+        }
+    }
+
+    private static Map<String, String> getAttributes() {
+        int size = buffer.getShort() & 0xffff;
+        Map<String, String> attributes = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            attributes.put(getString(), getString());
+        }
+        return attributes;
+    }
+}
@@ -0,0 +1,268 @@
+// JankMonitor.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableMap;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Samples UI-thread frame times and JS-thread liveness, and reports them per screen as numeric metrics.
+ * <p>
+ * Frames are timed from consecutive Choreographer frame callbacks and counted as slow or frozen. The JS
+ * thread is probed with a heartbeat posted to the React JS queue; a heartbeat that runs late is counted
+ * as a stall. Counters are kept per screen, the screen being the last one passed to startViewLoad.
+ * The time spent in the frame callbacks is accounted for, and they are paused until the next report once
+ * it exceeds the overhead budget. The frame metrics then cover part of the interval only: they are
+ * reported with the sampled duration and a {@link #ATTRIBUTE_PARTIAL} attribute.
+ */
+final class JankMonitor implements Choreographer.FrameCallback {
+
+    static final String METRIC_FRAMES = "axa.frames.total";
+    static final String METRIC_SLOW_FRAMES = "axa.frames.slow";
+    static final String METRIC_FROZEN_FRAMES = "axa.frames.frozen";
+    static final String METRIC_JS_STALLS = "axa.js.stalls";
+    static final String METRIC_JS_STALL_MAX = "axa.js.stallMaxMs";
+    static final String ATTRIBUTE_SCREEN = "screen";
+    static final String ATTRIBUTE_SAMPLED_MS = "sampledMs";
+    static final String ATTRIBUTE_PARTIAL = "partial";
+
+    private static final String UNKNOWN_SCREEN = "unknown";
+    private static final int DEFAULT_SLOW_FRAME_MILLIS = 24;
+    private static final int DEFAULT_FROZEN_FRAME_MILLIS = 700;
+    private static final int DEFAULT_STALL_MILLIS = 250;
+    private static final int DEFAULT_HEARTBEAT_MILLIS = 500;
+    private static final int DEFAULT_REPORT_INTERVAL_SECONDS = 60;
+    /** Share of the report interval the frame callbacks may use. */
+    private static final double DEFAULT_OVERHEAD_BUDGET = 0.001;
+
+    private static final JankMonitor instance = new JankMonitor();
+
+    private static volatile ReactApplicationContext reactContext;
+    private static volatile String screen = UNKNOWN_SCREEN;
+    private static final ConcurrentHashMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+    private static volatile Config config;
+    /** Frame sampling was paused since the last report. */
+    private static volatile boolean pausedInWindow;
+
+    /** Main thread state. */
+    private static long lastFrameNanos;
+    private static long overheadNanos;
+    private static boolean framesPosted;
+
+    private static final class Config {
+        final long slowFrameNanos;
+        final long frozenFrameNanos;
+        final long stallMillis;
+        final long heartbeatMillis;
+        final long reportIntervalMillis;
+        final long overheadBudgetNanos;
+
+        Config(ReadableMap map) {
+            slowFrameNanos = getInt(map, "slowFrameMs", DEFAULT_SLOW_FRAME_MILLIS) * 1000000L;
+            frozenFrameNanos = getInt(map, "frozenFrameMs", DEFAULT_FROZEN_FRAME_MILLIS) * 1000000L;
+            stallMillis = getInt(map, "stallMs", DEFAULT_STALL_MILLIS);
+            heartbeatMillis = Math.max(50, getInt(map, "heartbeatMs", DEFAULT_HEARTBEAT_MILLIS));
+            reportIntervalMillis = Math.max(1, getInt(map, "reportIntervalSeconds", DEFAULT_REPORT_INTERVAL_SECONDS)) * 1000L;
+            overheadBudgetNanos = (long) (reportIntervalMillis * 1000000L * DEFAULT_OVERHEAD_BUDGET);
+        }
+
+        private static int getInt(ReadableMap map, String key, int defaultValue) {
+            return map != null && map.hasKey(key) ? map.getInt(key) : defaultValue;
+        }
+    }
+
+    private static final class Counters {
+        long frames;
+        /** Sum of the sampled frame times. */
+        long sampledNanos;
+        long slowFrames;
+        long frozenFrames;
+        long stalls;
+        long stallMaxMillis;
+    }
+
+    private static final Runnable heartbeatTask = new Runnable() {
+        @Override
+        public void run() {
+            final Config current = config;
+            ReactApplicationContext context = reactContext;
+            if (current == null) {
+                return;
+            }
+            if (context != null && context.hasActiveReactInstance()) {
+                final long posted = SystemClock.uptimeMillis();
+                context.runOnJSQueueThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        long delay = SystemClock.uptimeMillis() - posted;
+                        if (delay >= current.stallMillis) {
+                            Counters screenCounters = countersOf(screen);
+                            synchronized (screenCounters) {
+                                screenCounters.stalls++;
+                                screenCounters.stallMaxMillis = Math.max(screenCounters.stallMaxMillis, delay);
+                            }
+                        }
+                    }
+                });
+            }
+            CallbackDispatcher.getHandler().postDelayed(this, current.heartbeatMillis);
+        }
+    };
+
+    private static final Runnable reportCall = new Runnable() {
+        @Override
+        public void run() {
+            report();
+        }
+    };
+
+    private static final Runnable reportTask = new Runnable() {
+        @Override
+        public void run() {
+            Config current = config;
+            SdkExecutor.executeDroppable(reportCall, null);
+            if (current != null) {
+                postFrames();
+                CallbackDispatcher.getHandler().postDelayed(this, current.reportIntervalMillis);
+            }
+        }
+    };
+
+    private JankMonitor() {
+    }
+
+    static void attach(ReactApplicationContext context) {
+        reactContext = context;
+    }
+
+    static void setScreen(String screenName) {
+        screen = screenName != null ? screenName : UNKNOWN_SCREEN;
+    }
+
+    /**
+     * Starts monitoring. The config holds optional <code>slowFrameMs</code>, <code>frozenFrameMs</code>,
+     * <code>stallMs</code>, <code>heartbeatMs</code> and <code>reportIntervalSeconds</code>.
+     */
+    static void start(ReadableMap map) {
+        stop();
+        Config current = new Config(map);
+        config = current;
+        Handler handler = CallbackDispatcher.getHandler();
+        handler.postDelayed(heartbeatTask, current.heartbeatMillis);
+        handler.postDelayed(reportTask, current.reportIntervalMillis);
+        postFrames();
+    }
+
+    /**
+     * Stops monitoring and reports the pending counters.
+     */
+    static void stop() {
+        if (config == null) {
+            return;
+        }
+        config = null;
+        Handler handler = CallbackDispatcher.getHandler();
+        handler.removeCallbacks(heartbeatTask);
+        handler.removeCallbacks(reportTask);
+        SdkExecutor.executeDroppable(reportCall, null);
+    }
+
+    private static void postFrames() {
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                overheadNanos = 0;
+                if (!framesPosted && config != null) {
+                    framesPosted = true;
+                    lastFrameNanos = 0;
+                    Choreographer.getInstance().postFrameCallback(instance);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        long begin = System.nanoTime();
+        Config current = config;
+        if (current == null) {
+            framesPosted = false;
+            return;
+        }
+        if (lastFrameNanos != 0) {
+            long duration = frameTimeNanos - lastFrameNanos;
+            Counters screenCounters = countersOf(screen);
+            synchronized (screenCounters) {
+                screenCounters.frames++;
+                screenCounters.sampledNanos += duration;
+                if (duration >= current.frozenFrameNanos) {
+                    screenCounters.frozenFrames++;
+                } else if (duration >= current.slowFrameNanos) {
+                    screenCounters.slowFrames++;
+                }
+            }
+        }
+        lastFrameNanos = frameTimeNanos;
+        overheadNanos += System.nanoTime() - begin;
+        if (overheadNanos > current.overheadBudgetNanos) {
+            // over budget: pause until the next report
+            AxaLog.d("@ JankMonitor paused, overhead {} ns", overheadNanos);
+            pausedInWindow = true;
+            framesPosted = false;
+            return;
+        }
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    private static Counters countersOf(String screenName) {
+        Counters screenCounters = counters.get(screenName);
+        if (screenCounters == null) {
+            Counters created = new Counters();
+            screenCounters = counters.putIfAbsent(screenName, created);
+            if (screenCounters == null) {
+                screenCounters = created;
+            }
+        }
+        return screenCounters;
+    }
+
+    private static void report() {
+        boolean partial = pausedInWindow;
+        pausedInWindow = false;
+        for (String screenName : Collections.list(counters.keys())) {
+            Counters screenCounters = counters.remove(screenName);
+            if (screenCounters == null) {
+                continue;
+            }
+            Map<String, String> attributes = new HashMap<>();
+            attributes.put(ATTRIBUTE_SCREEN, screenName);
+            synchronized (screenCounters) {
+                if (screenCounters.frames > 0) {
+                    Map<String, String> frameAttributes = new HashMap<>(attributes);
+                    frameAttributes.put(ATTRIBUTE_SAMPLED_MS, Long.toString(screenCounters.sampledNanos / 1000000));
+                    frameAttributes.put(ATTRIBUTE_PARTIAL, Boolean.toString(partial));
+                    CaMDOIntegration.logNumericMetric(METRIC_FRAMES, screenCounters.frames, frameAttributes, null);
+                    CaMDOIntegration.logNumericMetric(METRIC_SLOW_FRAMES, screenCounters.slowFrames, frameAttributes, null);
+                    CaMDOIntegration.logNumericMetric(METRIC_FROZEN_FRAMES, screenCounters.frozenFrames, frameAttributes, null);
+                }
+                if (screenCounters.stalls > 0) {
+                    CaMDOIntegration.logNumericMetric(METRIC_JS_STALLS, screenCounters.stalls, attributes, null);
+                    CaMDOIntegration.logNumericMetric(METRIC_JS_STALL_MAX, screenCounters.stallMaxMillis, attributes, null);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+// MetricAggregator.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+
+import android.os.Handler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Native pre-aggregation of numeric metrics.
+ * <p>
+ * Samples of the configured metric names are aggregated per (name, attribute set) into count, sum,
+ * min, max and a log-bucketed quantile sketch. Every flush interval one summary per key is logged,
+ * with the mean as value and the aggregates as attributes. The number of keys is bounded; samples
+ * of new keys beyond the bound are logged directly.
+ */
+final class MetricAggregator {
+
+    static final String ATTRIBUTE_COUNT = "axa.count";
+    static final String ATTRIBUTE_SUM = "axa.sum";
+    static final String ATTRIBUTE_MIN = "axa.min";
+    static final String ATTRIBUTE_MAX = "axa.max";
+    static final String ATTRIBUTE_P50 = "axa.p50";
+    static final String ATTRIBUTE_P90 = "axa.p90";
+    static final String ATTRIBUTE_P99 = "axa.p99";
+
+    private static final int DEFAULT_MAX_KEYS = 100;
+    private static final int DEFAULT_FLUSH_INTERVAL_SECONDS = 60;
+
+    /** Relative accuracy of the sketch: bucket i holds values in (GAMMA^(i-1), GAMMA^i]. */
+    private static final double GAMMA = 1.05;
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int MIN_INDEX = -150;
+    private static final int MAX_INDEX = 450;
+
+    private static final ConcurrentHashMap<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private static volatile Pattern[] patterns = new Pattern[0];
+    private static volatile int maxKeys = DEFAULT_MAX_KEYS;
+    private static volatile long flushIntervalMillis;
+
+    private static final Runnable flushCall = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private static final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            SdkExecutor.execute(flushCall);
+            long interval = flushIntervalMillis;
+            if (interval > 0) {
+                CallbackDispatcher.getHandler().postDelayed(this, interval);
+            }
+        }
+    };
+
+    private static final class Aggregate {
+        final String name;
+        final Map<String, String> attributes;
+        final int[] buckets = new int[MAX_INDEX - MIN_INDEX + 1];
+        long count;
+        long nonPositive;
+        double sum;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        boolean closed;
+
+        Aggregate(String name, Map<String, String> attributes) {
+            this.name = name;
+            this.attributes = attributes;
+        }
+
+        synchronized boolean add(double value) {
+            if (closed) {
+                return false;
+            }
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            if (value > 0) {
+                int index = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+                buckets[Math.max(MIN_INDEX, Math.min(MAX_INDEX, index)) - MIN_INDEX]++;
+            } else {
+                nonPositive++;
+            }
+            return true;
+        }
+
+        synchronized void close() {
+            closed = true;
+        }
+
+        /** Called once closed, so the fields no longer change. */
+        double quantile(double q) {
+            long rank = (long) Math.ceil(q * count);
+            long seen = nonPositive;
+            if (seen >= rank) {
+                return Math.min(0, max);
+            }
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    double estimate = 2 * Math.pow(GAMMA, i + MIN_INDEX) / (GAMMA + 1);
+                    return Math.max(min, Math.min(max, estimate));
+                }
+            }
+            return max;
+        }
+    }
+
+    private MetricAggregator() {
+    }
+
+    /**
+     * Configures aggregation. The config holds <code>metrics</code>, an array of metric name patterns
+     * where <code>*</code> matches any text, and optionally <code>flushIntervalSeconds</code> and
+     * <code>maxKeys</code>. Pending aggregates are flushed first. A null config disables aggregation.
+     */
+    static void configure(ReadableMap config) {
+        SdkExecutor.execute(flushCall);
+        Handler handler = CallbackDispatcher.getHandler();
+        handler.removeCallbacks(flushTask);
+        List<Pattern> compiled = new ArrayList<>();
+        if (config != null && config.hasKey("metrics") && config.getType("metrics") == ReadableType.Array) {
+            ReadableArray array = config.getArray("metrics");
+            for (int i = 0; i < array.size(); i++) {
+                if (array.getType(i) == ReadableType.String) {
+                    compiled.add(EventGovernor.compileGlob(array.getString(i)));
+                }
+            }
+        }
+        patterns = compiled.toArray(new Pattern[0]);
+        maxKeys = config != null && config.hasKey("maxKeys") ? config.getInt("maxKeys") : DEFAULT_MAX_KEYS;
+        int intervalSeconds = config != null && config.hasKey("flushIntervalSeconds")
+                ? config.getInt("flushIntervalSeconds") : DEFAULT_FLUSH_INTERVAL_SECONDS;
+        flushIntervalMillis = compiled.isEmpty() ? 0 : Math.max(1, intervalSeconds) * 1000L;
+        if (flushIntervalMillis > 0) {
+            handler.postDelayed(flushTask, flushIntervalMillis);
+        }
+    }
+
+    /**
+     * Adds a sample, when the metric is aggregated.
+     *
+     * @return true when the sample was aggregated, false when it should be logged directly.
+     */
+    static boolean add(String name, double value, Map<String, String> attributes) {
+        if (name == null || !matches(name)) {
+            return false;
+        }
+        String key = key(name, attributes);
+        while (true) {
+            Aggregate aggregate = aggregates.get(key);
+            if (aggregate == null) {
+                if (aggregates.size() >= maxKeys) {
+                    return false;
+                }
+                Aggregate created = new Aggregate(name, attributes);
+                aggregate = aggregates.putIfAbsent(key, created);
+                if (aggregate == null) {
+                    aggregate = created;
+                }
+            }
+            if (aggregate.add(value)) {
+                return true;
+            }
+            // flushed concurrently, retry with a new aggregate
+        }
+    }
+
+    /**
+     * Logs one summary per aggregated key and starts new aggregates. Like other metrics, the summaries
+     * are journaled while the SDK is disabled and journaling is on. Called on the {@link SdkExecutor}.
+     */
+    static void flush() {
+        for (Map.Entry<String, Aggregate> entry : aggregates.entrySet()) {
+            Aggregate aggregate = entry.getValue();
+            if (!aggregates.remove(entry.getKey(), aggregate)) {
+                continue;
+            }
+            aggregate.close();
+            if (aggregate.count == 0) {
+                continue;
+            }
+            Map<String, String> attributes = new HashMap<>(aggregate.attributes);
+            attributes.put(ATTRIBUTE_COUNT, Long.toString(aggregate.count));
+            attributes.put(ATTRIBUTE_SUM, Double.toString(aggregate.sum));
+            attributes.put(ATTRIBUTE_MIN, Double.toString(aggregate.min));
+            attributes.put(ATTRIBUTE_MAX, Double.toString(aggregate.max));
+            attributes.put(ATTRIBUTE_P50, Double.toString(aggregate.quantile(0.5)));
+            attributes.put(ATTRIBUTE_P90, Double.toString(aggregate.quantile(0.9)));
+            attributes.put(ATTRIBUTE_P99, Double.toString(aggregate.quantile(0.99)));
+            double mean = aggregate.sum / aggregate.count;
+            if (!EventJournal.isActive() || !EventJournal.appendNumeric(aggregate.name, mean, attributes)) {
+                CaMDOIntegration.logNumericMetric(aggregate.name, mean, attributes, null);
+                UploadScheduler.onEventsQueued(1);
+            }
+        }
+    }
+
+    private static boolean matches(String name) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(String name, Map<String, String> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return name;
+        }
+        List<String> keys = new ArrayList<>(attributes.keySet());
+        Collections.sort(keys);
+        StringBuilder builder = new StringBuilder(name);
+        for (String key : keys) {
+            builder.append('\u0000').append(key).append('=').append(attributes.get(key));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,129 @@
+// MetricsRingBuffer.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import java.util.Map;
+
+/**
+ * Bounded ring buffer of metric / network event records, used by the batch ingestion API.
+ * <p>
+ * Slots are allocated once and reused, so buffering an event only copies its fields.
+ * Records are never overwritten: callers drain the buffer once it {@link #isFull()} before offering more.
+ */
+final class MetricsRingBuffer {
+
+    static final int TYPE_NUMERIC = 0;
+    static final int TYPE_TEXT = 1;
+    static final int TYPE_NETWORK = 2;
+
+    private static final class Slot {
+        int type;
+        String name;
+        double numericValue;
+        String textValue;
+        Map<String, String> attributes;
+        int status;
+        int responseTime;
+        int inBytes;
+        int outBytes;
+
+        void clear() {
+            name = null;
+            textValue = null;
+            attributes = null;
+        }
+    }
+
+    private final Slot[] slots;
+    private int head;
+    private int size;
+
+    MetricsRingBuffer(int capacity) {
+        slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    synchronized void offerNumeric(String name, double value, Map<String, String> attributes) {
+        Slot slot = next();
+        slot.type = TYPE_NUMERIC;
+        slot.name = name;
+        slot.numericValue = value;
+        slot.attributes = attributes;
+    }
+
+    synchronized void offerText(String name, String value, Map<String, String> attributes) {
+        Slot slot = next();
+        slot.type = TYPE_TEXT;
+        slot.name = name;
+        slot.textValue = value;
+        slot.attributes = attributes;
+    }
+
+    synchronized void offerNetwork(String url, int status, int responseTime, int inBytes, int outBytes) {
+        Slot slot = next();
+        slot.type = TYPE_NETWORK;
+        slot.name = url;
+        slot.status = status;
+        slot.responseTime = responseTime;
+        slot.inBytes = inBytes;
+        slot.outBytes = outBytes;
+    }
+
+    synchronized boolean isFull() {
+        return size == slots.length;
+    }
+
+    /**
+     * Forwards every buffered record to {@link CaMDOIntegration}, or to the {@link EventJournal} while it is
+     * active, in insertion order and empties the buffer.
+     *
+     * @return number of records forwarded
+     */
+    synchronized int drain() {
+        int drained = 0;
+        boolean journal = size > 0 && EventJournal.isActive();
+        while (size > 0) {
+            Slot slot = slots[head];
+            switch (slot.type) {
+                case TYPE_NUMERIC:
+                    if (!journal || !EventJournal.appendNumeric(slot.name, slot.numericValue, slot.attributes)) {
+                        CaMDOIntegration.logNumericMetric(slot.name, slot.numericValue, slot.attributes, null);
+                    }
+                    break;
+                case TYPE_TEXT:
+                    if (!journal || !EventJournal.appendText(slot.name, slot.textValue, slot.attributes)) {
+                        CaMDOIntegration.logTextMetric(slot.name, slot.textValue, slot.attributes, null);
+                    }
+                    break;
+                case TYPE_NETWORK:
+                    if (!journal || !EventJournal.appendNetwork(slot.name, slot.status, slot.responseTime, slot.inBytes, slot.outBytes)) {
+                        CaMDOIntegration.logNetworkEvent(slot.name, slot.status, slot.responseTime, slot.inBytes, slot.outBytes);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            slot.clear();
+            head = (head + 1) % slots.length;
+            size--;
+            drained++;
+        }
+        if (!journal) {
+            UploadScheduler.onEventsQueued(drained);
+        }
+        return drained;
+    }
+
+    private Slot next() {
+        if (size == slots.length) {
+            throw new IllegalStateException("MetricsRingBuffer is full, drain it first");
+        }
+        Slot slot = slots[(head + size) % slots.length];
+        size++;
+        return slot;
+    }
+}
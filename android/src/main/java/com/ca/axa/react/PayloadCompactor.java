@@ -0,0 +1,228 @@
+// PayloadCompactor.java
+
+package com.ca.axa.react;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import java.nio.charset.Charset;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Bounds the text metric values and attribute maps forwarded to the SDK, when enabled.
+ * <p>
+ * Text values and attribute values above their size budget are truncated, ending with
+ * {@link #TRUNCATED_MARKER} and the original length. Attributes beyond the maximum count
+ * are dropped. The values trimmed are counted.
+ * <p>
+ * De-duplication is opt-in, and only applies within one {@link ReactNativeAxaMobileSdkModule#logMetricsBatch}
+ * call forwarded straight to the SDK: a long value already sent in the same batch is replaced by
+ * {@link #REFERENCE_PREFIX}, the CRC32 and the length of the value, e.g. <code>[=ref:1c291ca3:512]</code>.
+ * Nothing in the SDK or this module resolves references; the consumer of the exported events does, from
+ * the first occurrence, which the SDK receives earlier in the same batch.
+ */
+final class PayloadCompactor {
+
+    static final String TRUNCATED_MARKER = "...[truncated, length ";
+    static final String REFERENCE_PREFIX = "[=ref:";
+
+    /** Smallest size budget, above the longest truncation suffix, so that a truncated value keeps some of its text. */
+    static final int MIN_LENGTH = 64;
+    private static final int DEFAULT_MAX_TEXT_LENGTH = 4096;
+    private static final int DEFAULT_MAX_ATTRIBUTE_LENGTH = 256;
+    private static final int DEFAULT_MAX_ATTRIBUTES = 32;
+    private static final int DEFAULT_MIN_DEDUP_LENGTH = 0;
+    private static final int MAX_DICTIONARY_SIZE = 256;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static volatile Config config;
+
+    /** Values sent in the current batch, guarded by PayloadCompactor.class. */
+    private static final Set<String> dictionary = new HashSet<>();
+    private static boolean inBatch;
+    private static long truncatedValues;
+    private static long truncatedChars;
+    private static long droppedAttributes;
+    private static long dedupedValues;
+    private static long dedupedChars;
+
+    private static final class Config {
+        final int maxTextLength;
+        final int maxAttributeLength;
+        final int maxAttributes;
+        final int minDedupLength;
+
+        Config(ReadableMap map) {
+            maxTextLength = Math.max(MIN_LENGTH, getInt(map, "maxTextLength", DEFAULT_MAX_TEXT_LENGTH));
+            maxAttributeLength = Math.max(MIN_LENGTH, getInt(map, "maxAttributeLength", DEFAULT_MAX_ATTRIBUTE_LENGTH));
+            maxAttributes = Math.max(1, getInt(map, "maxAttributes", DEFAULT_MAX_ATTRIBUTES));
+            int dedup = getInt(map, "minDedupLength", DEFAULT_MIN_DEDUP_LENGTH);
+            minDedupLength = dedup <= 0 ? Integer.MAX_VALUE : dedup;
+        }
+
+        private static int getInt(ReadableMap map, String key, int defaultValue) {
+            return map.hasKey(key) ? map.getInt(key) : defaultValue;
+        }
+    }
+
+    private PayloadCompactor() {
+    }
+
+    /**
+     * Enables or disables compaction. The config holds optional <code>maxTextLength</code>,
+     * <code>maxAttributeLength</code>, <code>maxAttributes</code> and <code>minDedupLength</code> (0, the
+     * default, disables de-duplication); null disables compaction.
+     */
+    static synchronized void configure(ReadableMap map) {
+        config = map == null ? null : new Config(map);
+        dictionary.clear();
+    }
+
+    /**
+     * Starts de-duplicating the values of a batch. Not while events are journaled, as the journal could
+     * hold the first occurrence of a value while the SDK receives the reference.
+     */
+    static synchronized void beginBatch() {
+        dictionary.clear();
+        inBatch = !EventJournal.isActive();
+    }
+
+    /**
+     * Ends the batch started with {@link #beginBatch()}.
+     */
+    static synchronized void endBatch() {
+        dictionary.clear();
+        inBatch = false;
+    }
+
+    /**
+     * @return the text metric value to send.
+     */
+    static String compactText(String value) {
+        Config current = config;
+        if (current == null || value == null) {
+            return value;
+        }
+        synchronized (PayloadCompactor.class) {
+            return truncate(value, current.maxTextLength);
+        }
+    }
+
+    /**
+     * Compacts the attribute map in place.
+     *
+     * @return the attributes.
+     */
+    static Map<String, String> compactAttributes(Map<String, String> attributes) {
+        Config current = config;
+        if (current == null || attributes == null || attributes.isEmpty()) {
+            return attributes;
+        }
+        synchronized (PayloadCompactor.class) {
+            int kept = 0;
+            for (Iterator<Map.Entry<String, String>> iterator = attributes.entrySet().iterator(); iterator.hasNext(); ) {
+                Map.Entry<String, String> attribute = iterator.next();
+                if (kept >= current.maxAttributes && !attribute.getKey().startsWith("axa.")) {
+                    iterator.remove();
+                    droppedAttributes++;
+                    continue;
+                }
+                kept++;
+                String value = attribute.getValue();
+                if (value != null) {
+                    attribute.setValue(truncate(value, current.maxAttributeLength));
+                }
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * @return the text metric value of a batch entry, or a reference to its first occurrence in the batch.
+     */
+    static String dedupText(String value) {
+        Config current = config;
+        if (current == null || value == null || value.length() < current.minDedupLength) {
+            return value;
+        }
+        synchronized (PayloadCompactor.class) {
+            return inBatch ? dedup(value) : value;
+        }
+    }
+
+    /**
+     * Replaces, in place, the attribute values of a batch entry already sent in the batch by references.
+     *
+     * @return the attributes.
+     */
+    static Map<String, String> dedupAttributes(Map<String, String> attributes) {
+        Config current = config;
+        if (current == null || current.minDedupLength == Integer.MAX_VALUE || attributes == null) {
+            return attributes;
+        }
+        synchronized (PayloadCompactor.class) {
+            if (!inBatch) {
+                return attributes;
+            }
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                String value = attribute.getValue();
+                if (value != null && value.length() >= current.minDedupLength) {
+                    attribute.setValue(dedup(value));
+                }
+            }
+        }
+        return attributes;
+    }
+
+    static synchronized WritableMap toWritableMap() {
+        WritableMap result = Arguments.createMap();
+        result.putBoolean("enabled", config != null);
+        result.putDouble("truncatedValues", truncatedValues);
+        result.putDouble("truncatedChars", truncatedChars);
+        result.putDouble("droppedAttributes", droppedAttributes);
+        result.putDouble("dedupedValues", dedupedValues);
+        result.putDouble("dedupedChars", dedupedChars);
+        return result;
+    }
+
+    /** Called with the class lock held. */
+    private static String truncate(String value, int maxLength) {
+        if (value.length() <= maxLength) {
+            return value;
+        }
+        String suffix = TRUNCATED_MARKER + value.length() + "]";
+        int keep = maxLength - suffix.length();
+        if (keep > 0 && Character.isHighSurrogate(value.charAt(keep - 1))) {
+            // do not split a surrogate pair, which would not encode to UTF-8
+            keep--;
+        }
+        truncatedValues++;
+        truncatedChars += value.length() - keep;
+        return value.substring(0, keep) + suffix;
+    }
+
+    /** Called with the class lock held. */
+    private static String dedup(String value) {
+        CRC32 crc = new CRC32();
+        crc.update(value.getBytes(UTF_8));
+        String key = Long.toHexString(crc.getValue()) + ':' + value.length();
+        if (dictionary.contains(key)) {
+            String reference = REFERENCE_PREFIX + key + "]";
+            if (reference.length() < value.length()) {
+                dedupedValues++;
+                dedupedChars += value.length() - reference.length();
+                return reference;
+            }
+            return value;
+        }
+        if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+            dictionary.add(key);
+        }
+        return value;
+    }
+}
@@ -6,15 +6,16 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
 
 import com.ca.integration.CaMDOCallback;
 import com.ca.android.app.CaMDOIntegration;
 
 import android.location.Location;
 import android.os.Bundle;
-import android.os.Handler;
-import android.util.Log;
+import android.os.SystemClock;
 
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -27,6 +28,7 @@ import java.util.Set;
 
 import javax.annotation.Nullable;
 
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.Arguments;
 
@@ -36,6 +38,9 @@ import java.util.*;
 /**
  * Android Native module bridge, that provides AXA Custom metrics APIs.
  * <p>
+ * SDK calls run on the {@link SdkExecutor} thread, in call order, rather than on the native modules thread.
+ * Getters run there too, after the calls made before them; synchronous getters wait for those calls.
+ * <p>
  * Created by sugsh04 on 07/13/2021.
  */
 public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
@@ -44,30 +49,73 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
 
     public static final String TAG = ReactNativeAxaMobileSdkModule.class.getCanonicalName();
 
+    public static final String NAME = "ReactNativeAxaMobileSdk";
+
     public static final String CAMAA_SCREENSHOT_QUALITY_HIGH = "HIGH";
     public static final String CAMAA_SCREENSHOT_QUALITY_MEDIUM = "MEDIUM";
     public static final String CAMAA_SCREENSHOT_QUALITY_LOW = "LOW";
 
+    private static final int METRICS_BATCH_CAPACITY = 256;
+    private static final int BATCH_REJECTED = 0;
+    private static final int BATCH_BUFFERED = 1;
+    private static final int BATCH_DROPPED = 2;
+    private static final int BATCH_AGGREGATED = 3;
+    private static final MetricsRingBuffer metricsBuffer = new MetricsRingBuffer(METRICS_BATCH_CAPACITY);
+
+    private static volatile boolean typedResults;
+
     public ReactNativeAxaMobileSdkModule(ReactApplicationContext reactContext) {
         super(reactContext);
         this.reactContext = reactContext;
+        attachContext(reactContext);
+    }
+
+    /**
+     * Gives the native helpers of this module access to the React context.
+     */
+    static void attachContext(ReactApplicationContext reactContext) {
+        AxaEventEmitter.attach(reactContext);
+        ScreenshotScheduler.attach(reactContext);
+        ViewLoadTimer.attach(reactContext);
+        JankMonitor.attach(reactContext);
+        EventJournal.attach(reactContext);
+        UploadScheduler.attach(reactContext);
+        SessionAttributeCache.attach(reactContext);
     }
 
     @Override
     public String getName() {
-        return "ReactNativeAxaMobileSdk";
+        return NAME;
     }
 
     @Nullable
     @Override
     public Map<String, Object> getConstants() {
-        final Map<String, Object> constants = new HashMap<>();
-        constants.put(CAMAA_SCREENSHOT_QUALITY_HIGH, CaMDOIntegration.CAMAA_SCREENSHOT_QUALITY_HIGH);
-        constants.put(CAMAA_SCREENSHOT_QUALITY_MEDIUM, CaMDOIntegration.CAMAA_SCREENSHOT_QUALITY_MEDIUM);
-        constants.put(CAMAA_SCREENSHOT_QUALITY_LOW, CaMDOIntegration.CAMAA_SCREENSHOT_QUALITY_LOW);
+        return getSdkConstants();
+    }
+
+    /**
+     * @return the constants exported to JS, built once on first use.
+     */
+    static Map<String, Object> getSdkConstants() {
+        long start = StartupTrace.begin();
+        Map<String, Object> constants = ConstantsHolder.CONSTANTS;
+        StartupTrace.constantsResolved(start);
         return constants;
     }
 
+    private static final class ConstantsHolder {
+        static final Map<String, Object> CONSTANTS;
+
+        static {
+            final Map<String, Object> constants = new HashMap<>();
+            constants.put(CAMAA_SCREENSHOT_QUALITY_HIGH, CaMDOIntegration.CAMAA_SCREENSHOT_QUALITY_HIGH);
+            constants.put(CAMAA_SCREENSHOT_QUALITY_MEDIUM, CaMDOIntegration.CAMAA_SCREENSHOT_QUALITY_MEDIUM);
+            constants.put(CAMAA_SCREENSHOT_QUALITY_LOW, CaMDOIntegration.CAMAA_SCREENSHOT_QUALITY_LOW);
+            CONSTANTS = Collections.unmodifiableMap(constants);
+        }
+    }
+
     /** APIS  **/
 
     /***
@@ -76,9 +124,16 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      * @param countryCode
      */
     @ReactMethod
-    public static void setCustomerLocation(String postalCode, String countryCode) {
-        Log.d(TAG, "@ setCustomerLocation with (zipCode,countryCode): (" + postalCode + "," + countryCode + ")");
-        CaMDOIntegration.setCustomerLocation(postalCode, countryCode);
+    public static void setCustomerLocation(final String postalCode, final String countryCode) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                AxaLog.d("@ setCustomerLocation with (zipCode,countryCode): ({},{})", postalCode, countryCode);
+                CaMDOIntegration.setCustomerLocation(postalCode, countryCode);
+                BridgeStats.record("setCustomerLocation", start);
+            }
+        });
     }
 
     /***
@@ -86,9 +141,14 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      * @param location
      */
     @ReactMethod
-    public static void setLocation(Location location) {
-        Log.d(TAG, "@ setCustomerLocation with (location): " + location);
-        CaMDOIntegration.setCustomerLocation(location);
+    public static void setLocation(final Location location) {
+        AxaLog.d("@ setCustomerLocation with (location): {}", location);
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                CaMDOIntegration.setCustomerLocation(location);
+            }
+        });
     }
 
     /**
@@ -98,50 +158,88 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      * @param value value to use for the attribute
      */
     @ReactMethod
-    public static void setSessionAttribute(String name, String value, Callback callback) {
-        Log.d(TAG, "@ setSessionAttribute with (name,value): (" + name + "," + value + ")");
-        CaMDOIntegration.setSessionAttribute(name, value);
-        if (callback != null) {
-            callback.invoke(true);
-        }
+    public static void setSessionAttribute(final String name, final String value, final Callback callback) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                AxaLog.d("@ setSessionAttribute with (name,value): ({},{})", name, value);
+                if (SessionAttributeCache.update(name, value)) {
+                    writeSessionAttribute(name, value);
+                }
+                if (callback != null) {
+                    callback.invoke(true);
+                }
+                BridgeStats.record("setSessionAttribute", start);
+            }
+        });
     }
 
     /**
-     * Starts a new application transaction that bounds all the subsequent events
+     * Sets several session attributes in one call. Attributes already set to the same value in the
+     * current session are not written again.
      *
-     * @param transactionName name of the transaction
-     * @param serviceName     name of the service
-     * @param func            The callback to the application, in case of an error/success. if null
-     *                        is passed in, the app receives no callbacks.
+     * @param attributes map of attribute names to values
+     * @param callback   The callback to the application, invoked once with the count of written and
+     *                   unchanged attributes. if null is passed in, the app receives no callbacks.
      */
     @ReactMethod
-    public static void startApplicationTransaction(String transactionName, String serviceName, final Callback callback) {
-        Log.d(TAG, "@ startApplicationTransaction");
-        CaMDOCallback callbackLocal = new CaMDOCallback(new Handler()) {
+    public static void setSessionAttributes(final ReadableMap attributes, final Callback callback) {
+        SdkExecutor.execute(new Runnable() {
             @Override
-            public void onError(int errorCode, Exception exception) {
-                Log.d(TAG, "@ startApplicationTransaction onError: errorCode " + errorCode + ", exception: " + exception);
+            public void run() {
+                long start = BridgeStats.start();
+                int written = 0;
+                int unchanged = 0;
+                for (Map.Entry<String, String> attribute : transformJSMap(attributes).entrySet()) {
+                    if (SessionAttributeCache.update(attribute.getKey(), attribute.getValue())) {
+                        writeSessionAttribute(attribute.getKey(), attribute.getValue());
+                        written++;
+                    } else {
+                        unchanged++;
+                    }
+                }
                 if (callback != null) {
-                    callback.invoke(false, getErrorJson(errorCode, exception));
+                    WritableMap result = Arguments.createMap();
+                    result.putInt("written", written);
+                    result.putInt("unchanged", unchanged);
+                    callback.invoke(true, result);
                 }
-
+                BridgeStats.record("setSessionAttributes", start);
             }
+        });
+    }
 
+    /**
+     * Starts a new application transaction that bounds all the subsequent events
+     *
+     * @param transactionName name of the transaction
+     * @param serviceName     name of the service
+     * @param func            The callback to the application, in case of an error/success. if null
+     *                        is passed in, the app receives no callbacks.
+     */
+    @ReactMethod
+    public static void startApplicationTransaction(final String transactionName, final String serviceName, final Callback callback) {
+        final Callback resultCallback = ResultStream.bind("startApplicationTransaction", callback);
+        final long startNanos = SystemClock.elapsedRealtimeNanos();
+        SdkExecutor.executeWrite(SdkExecutor.WRITES_HEADERS, new Runnable() {
             @Override
-            public void onSuccess(Bundle data) {
-                Log.d(TAG, "@ startApplicationTransaction onSuccess: ( " + data);
-                if (callback != null) {
-                    callback.invoke(true, getBundleData(data));
+            public void run() {
+                long start = BridgeStats.start();
+                AxaLog.d("@ startApplicationTransaction");
+                CaMDOCallback callbackLocal = TransactionTracker.onStart(transactionName, serviceName, startNanos,
+                        CallbackDispatcher.wrapWithStatus("startApplicationTransaction", resultCallback, start));
+                if (serviceName == null || serviceName.trim().length() == 0) {
+                    AxaLog.d("@ startApplicationTransaction no serviceName: ");
+                    CaMDOIntegration.startApplicationTransaction(transactionName, callbackLocal);
+                } else {
+                    AxaLog.d("@ startApplicationTransaction with serviceName: ");
+                    CaMDOIntegration.startApplicationTransaction(transactionName, serviceName, callbackLocal);
                 }
+                ApmHeaderCache.invalidate();
+                BridgeStats.record("startApplicationTransaction", start);
             }
-        };
-        if (serviceName == null || serviceName.trim().length() == 0) {
-            Log.d(TAG, "@ startApplicationTransaction no serviceName: ");
-            CaMDOIntegration.startApplicationTransaction(transactionName, callbackLocal);
-        } else {
-            Log.d(TAG, "@ startApplicationTransaction with serviceName: ");
-            CaMDOIntegration.startApplicationTransaction(transactionName, serviceName, callbackLocal);
-        }
+        });
     }
 
     /**
@@ -155,31 +253,95 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      *                        in, the app receives no callbacks.
      */
     @ReactMethod
-    public static void stopApplicationTransaction(String transactionName, String failure, final Callback callback) {
-        CaMDOCallback callbackInternal = new CaMDOCallback(new Handler()) {
+    public static void stopApplicationTransaction(final String transactionName, final String failure, final Callback callback) {
+        final Callback resultCallback = ResultStream.bind("stopApplicationTransaction", callback);
+        final long stopNanos = SystemClock.elapsedRealtimeNanos();
+        SdkExecutor.executeWrite(SdkExecutor.WRITES_HEADERS, new Runnable() {
             @Override
-            public void onError(int errorCode, Exception exception) {
-                if (callback != null) {
-                    callback.invoke(getErrorJson(errorCode, exception));
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOCallback callbackInternal = CallbackDispatcher.wrap("stopApplicationTransaction", resultCallback, start);
+                TransactionTracker.onStop(transactionName, failure, stopNanos);
+                if (failure == null || failure.trim().length() == 0) {
+                    CaMDOIntegration.stopApplicationTransaction(transactionName, callbackInternal);
+                } else {
+                    CaMDOIntegration.stopApplicationTransaction(transactionName, failure, callbackInternal);
                 }
+                ApmHeaderCache.invalidate();
+                BridgeStats.record("stopApplicationTransaction", start);
+            }
+        });
+    }
 
+
+    /**
+     * Starts a child span of an open application transaction. The span is timed natively and logged as
+     * the <code>axa.span.durationMs</code> numeric metric when stopped, or when its transaction stops.
+     *
+     * @param transactionName name of the open transaction
+     * @param spanName        name of the span
+     */
+    @ReactMethod
+    public static void startTransactionSpan(final String transactionName, final String spanName) {
+        final long startNanos = SystemClock.elapsedRealtimeNanos();
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (!TransactionTracker.startSpan(transactionName, spanName, startNanos)) {
+                    AxaLog.w("@ startTransactionSpan: no open transaction {}", transactionName);
+                }
             }
+        });
+    }
 
+    /**
+     * Stops a child span started with {@link #startTransactionSpan(String, String)}.
+     *
+     * @param transactionName name of the open transaction
+     * @param spanName        name of the span
+     * @param failure         pass <code>null</code> for a successful span, a brief description otherwise
+     */
+    @ReactMethod
+    public static void stopTransactionSpan(final String transactionName, final String spanName, final String failure) {
+        final long stopNanos = SystemClock.elapsedRealtimeNanos();
+        SdkExecutor.execute(new Runnable() {
             @Override
-            public void onSuccess(Bundle data) {
-                if (callback != null) {
-                    callback.invoke(getBundleData(data));
+            public void run() {
+                if (!TransactionTracker.stopSpan(transactionName, spanName, failure, stopNanos)) {
+                    AxaLog.w("@ stopTransactionSpan: no open span {}", spanName);
                 }
             }
-        };
-        if (failure == null || failure.trim().length() == 0) {
-            CaMDOIntegration.stopApplicationTransaction(transactionName, callbackInternal);
-        } else {
-            CaMDOIntegration.stopApplicationTransaction(transactionName, failure, callbackInternal);
-        }
+        });
+    }
 
+    /**
+     * Sets the time after which open application transactions are stopped with a failure.
+     *
+     * @param seconds the timeout, 0 (the default) to never stop them
+     */
+    @ReactMethod
+    public static void setTransactionTimeout(int seconds) {
+        TransactionTracker.setTimeout(seconds);
     }
 
+    /**
+     * Returns the open application transactions and their open spans.
+     *
+     * @param callback Callback function, that returns an array of transactions with their
+     *                 <code>name</code>, <code>serviceName</code>, <code>startedAtMs</code>,
+     *                 <code>ageMs</code> and <code>spans</code>
+     */
+    @ReactMethod
+    public static void getOpenTransactions(final Callback callback) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (callback != null) {
+                    callback.invoke(TransactionTracker.toWritableArray());
+                }
+            }
+        });
+    }
 
     /**
      * Sets the feedback from the user about a crash
@@ -187,8 +349,15 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      * @param feedback
      */
     @ReactMethod
-    public static void setCrashFeedback(String feedback) {
-        CaMDOIntegration.setCrashFeedback(feedback);
+    public static void setCrashFeedback(final String feedback) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOIntegration.setCrashFeedback(feedback);
+                BridgeStats.record("setCrashFeedback", start);
+            }
+        });
     }
 
     /**
@@ -198,8 +367,15 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      * @param feedback
      */
     @ReactMethod
-    public static void setUserFeedback(String feedback) {
-        CaMDOIntegration.setUserFeedback(feedback);
+    public static void setUserFeedback(final String feedback) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOIntegration.setUserFeedback(feedback);
+                BridgeStats.record("setUserFeedback", start);
+            }
+        });
     }
 
 
@@ -210,7 +386,17 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public static void enableSDK() {
-        CaMDOIntegration.enableSDK();
+        SdkExecutor.executeWrite(SdkExecutor.WRITES_SDK_STATE | SdkExecutor.WRITES_HEADERS, new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOIntegration.enableSDK();
+                ApmHeaderCache.invalidate();
+                SessionAttributeCache.reset();
+                EventJournal.replay();
+                BridgeStats.record("enableSDK", start);
+            }
+        });
     }
 
     /**
@@ -219,18 +405,54 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public static void disableSDK() {
-        CaMDOIntegration.disableSDK();
+        SdkExecutor.executeWrite(SdkExecutor.WRITES_SDK_STATE | SdkExecutor.WRITES_HEADERS, new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOIntegration.disableSDK();
+                ApmHeaderCache.invalidate();
+                BridgeStats.record("disableSDK", start);
+            }
+        });
     }
 
     /**
      * Checks if SDK is enabled or not
      */
     @ReactMethod
-    public static void isSDKEnabled(Callback callback) {
-        Boolean val = new Boolean(CaMDOIntegration.isSDKEnabled());
-        if (callback != null) {
-            callback.invoke(val);
-        }
+    public static void isSDKEnabled(final Callback callback) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Boolean val = new Boolean(CaMDOIntegration.isSDKEnabled());
+                if (callback != null) {
+                    callback.invoke(val);
+                }
+            }
+        });
+    }
+
+    /**
+     * Checks if SDK is enabled or not, synchronously.
+     *
+     * @return true or false.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public static boolean isSDKEnabledSync() {
+        SdkExecutor.awaitWrites(SdkExecutor.WRITES_SDK_STATE);
+        return CaMDOIntegration.isSDKEnabled();
+    }
+
+    /**
+     * Journals the metrics, network events and session attributes logged while the SDK is not
+     * initialized or disabled, to replay them once it is enabled.
+     *
+     * @param config optional <code>maxBytes</code>, the size of the journal file (256 KB by default).
+     *               null disables journaling.
+     */
+    @ReactMethod
+    public static void setEventJournal(@Nullable ReadableMap config) {
+        EventJournal.configure(config);
     }
 
     /***
@@ -238,8 +460,14 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public static void enterPrivateZone() {
-        CaMDOIntegration.enterPrivateZone();
-
+        SdkExecutor.executeWrite(SdkExecutor.WRITES_PRIVATE_ZONE, new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOIntegration.enterPrivateZone();
+                BridgeStats.record("enterPrivateZone", start);
+            }
+        });
     }
 
     /***
@@ -247,8 +475,14 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public static void exitPrivateZone() {
-        CaMDOIntegration.exitPrivateZone();
-
+        SdkExecutor.executeWrite(SdkExecutor.WRITES_PRIVATE_ZONE, new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOIntegration.exitPrivateZone();
+                BridgeStats.record("exitPrivateZone", start);
+            }
+        });
     }
 
     /***
@@ -257,11 +491,27 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      * @return
      */
     @ReactMethod
-    public static void isInPrivateZone(Callback callback) {
-        Boolean val = new Boolean(CaMDOIntegration.isInPrivateZone());
-        if (callback != null) {
-            callback.invoke(val);
-        }
+    public static void isInPrivateZone(final Callback callback) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Boolean val = new Boolean(CaMDOIntegration.isInPrivateZone());
+                if (callback != null) {
+                    callback.invoke(val);
+                }
+            }
+        });
+    }
+
+    /***
+     * Checks if app is in private zone state, synchronously.
+     *
+     * @return true or false.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public static boolean isInPrivateZoneSync() {
+        SdkExecutor.awaitWrites(SdkExecutor.WRITES_SDK_STATE | SdkExecutor.WRITES_PRIVATE_ZONE);
+        return CaMDOIntegration.isInPrivateZone();
     }
 
 
@@ -274,38 +524,67 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      *                      in, the app receives no callbacks.
      */
     @ReactMethod
-    public static void sendScreenShot(String screenName, int imageQuality, final Callback callback) {
-        Log.d(TAG, "@ sendScreenShot with name: " + screenName + " , quality: " + imageQuality);
-        CaMDOCallback callbackInternal = new CaMDOCallback(new Handler()) {
+    public static void sendScreenShot(final String screenName, final int imageQuality, final Callback callback) {
+        final Callback resultCallback = ResultStream.bind("sendScreenShot", callback);
+        SdkExecutor.execute(new Runnable() {
             @Override
-            public void onError(int errorCode, Exception exception) {
-                if (callback != null) {
-                    callback.invoke(getErrorJson(errorCode, exception));
+            public void run() {
+                long start = BridgeStats.start();
+                AxaLog.d("@ sendScreenShot with name: {} , quality: {}", screenName, imageQuality);
+                if (ViewIgnoreMatcher.isIgnored(screenName)) {
+                    invokeLocalResult(resultCallback, "ignored");
+                } else if (!ScreenshotScheduler.schedule(screenName, imageQuality, resultCallback, start)) {
+                    CaMDOCallback callbackInternal = CallbackDispatcher.wrap("sendScreenShot", resultCallback, start);
+                    CaMDOIntegration.sendScreenShot(screenName, imageQuality, callbackInternal);
                 }
-
+                BridgeStats.record("sendScreenShot", start);
             }
+        });
+    }
 
+    /**
+     * Enables scheduling of the screenshots requested through sendScreenShot.
+     * <p>
+     * Requests are debounced, so that only the screen the user stays on is captured, and replaced
+     * requests complete with <code>coalesced</code>. Requests are skipped, with <code>skipped</code>, when
+     * the screenshot policy is disabled or the app is in a private zone. Captures run when the main thread
+     * is idle, and the quality is stepped down under memory pressure.
+     *
+     * @param config optional <code>debounceMs</code> (default 300) and <code>adaptiveQuality</code>
+     *               (default true). null sends screenshots immediately again.
+     */
+    @ReactMethod
+    public static void setScreenshotScheduling(ReadableMap config) {
+        ScreenshotScheduler.configure(config);
+    }
+
+    /**
+     * Checks whether screenshot is enabled in Policy
+     *
+     * @return true or false.
+     */
+    @ReactMethod
+    public static void isScreenshotPolicyEnabled(final Callback callback) {
+        SdkExecutor.execute(new Runnable() {
             @Override
-            public void onSuccess(Bundle data) {
+            public void run() {
+                Boolean val = new Boolean(CaMDOIntegration.isScreenshotPolicyEnabled());
                 if (callback != null) {
-                    callback.invoke(getBundleData(data));
+                    callback.invoke(val);
                 }
             }
-        };
-        CaMDOIntegration.sendScreenShot(screenName, imageQuality, callbackInternal);
+        });
     }
 
     /**
-     * Checks whether screenshot is enabled in Policy
+     * Checks whether screenshot is enabled in Policy, synchronously.
      *
      * @return true or false.
      */
-    @ReactMethod
-    public static void isScreenshotPolicyEnabled(Callback callback) {
-        Boolean val = new Boolean(CaMDOIntegration.isScreenshotPolicyEnabled());
-        if (callback != null) {
-            callback.invoke(val);
-        }
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public static boolean isScreenshotPolicyEnabledSync() {
+        SdkExecutor.awaitWrites(SdkExecutor.WRITES_SDK_STATE);
+        return CaMDOIntegration.isScreenshotPolicyEnabled();
     }
 
 
@@ -315,7 +594,16 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public static void stopCurrentSession() {
-        CaMDOIntegration.stopCurrentSession();
+        SdkExecutor.executeWrite(SdkExecutor.WRITES_HEADERS, new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOIntegration.stopCurrentSession();
+                SessionAttributeCache.reset();
+                ApmHeaderCache.invalidate();
+                BridgeStats.record("stopCurrentSession", start);
+            }
+        });
     }
 
     /**
@@ -324,7 +612,16 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public static void startNewSession() {
-        CaMDOIntegration.startNewSession();
+        SdkExecutor.executeWrite(SdkExecutor.WRITES_HEADERS, new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOIntegration.startNewSession();
+                SessionAttributeCache.reset();
+                ApmHeaderCache.invalidate();
+                BridgeStats.record("startNewSession", start);
+            }
+        });
     }
 
 
@@ -334,7 +631,16 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public static void stopCurrentAndStartNewSession() {
-        CaMDOIntegration.stopCurrentAndStartNewSession();
+        SdkExecutor.executeWrite(SdkExecutor.WRITES_HEADERS, new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOIntegration.stopCurrentAndStartNewSession();
+                SessionAttributeCache.reset();
+                ApmHeaderCache.invalidate();
+                BridgeStats.record("stopCurrentAndStartNewSession", start);
+            }
+        });
     }
 
 
@@ -347,25 +653,55 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      *                 in, the app receives no callbacks.
      */
     @ReactMethod
-    public static void viewLoaded(String viewName, int loadTime, final Callback func) {
-        CaMDOCallback callback = new CaMDOCallback(new Handler()) {
+    public static void viewLoaded(final String viewName, final int loadTime, final Callback func) {
+        final Callback resultCallback = ResultStream.bind("viewLoaded", func);
+        SdkExecutor.executeDroppable(new Runnable() {
             @Override
-            public void onError(int errorCode, Exception exception) {
-                if (func != null) {
-                    func.invoke(getErrorJson(errorCode, exception));
+            public void run() {
+                long start = BridgeStats.start();
+                if (ViewIgnoreMatcher.isIgnored(viewName)) {
+                    invokeLocalResult(resultCallback, "ignored");
+                } else {
+                    CaMDOCallback callback = CallbackDispatcher.wrap("viewLoaded", resultCallback, start);
+                    CaMDOIntegration.viewLoaded(viewName, loadTime, callback);
+                    UploadScheduler.onEventsQueued(1);
                 }
-
+                BridgeStats.record("viewLoaded", start);
             }
+        }, droppedResult(resultCallback));
+    }
 
-            @Override
-            public void onSuccess(Bundle data) {
-                if (func != null) {
-                    func.invoke(getBundleData(data));
-                }
-            }
-        };
-        CaMDOIntegration.viewLoaded(viewName, loadTime, callback);
+    /**
+     * Starts measuring the load time of a view natively. Call it when navigating to the view; the load
+     * ends with the first frame drawn after the next view updates, or once the view's root is laid out
+     * when its tag is given, and is reported through viewLoaded.
+     *
+     * @param viewName
+     * @param rootTag  React tag of the view's root, may be null.
+     */
+    @ReactMethod
+    public static void startViewLoad(String viewName, Double rootTag) {
+        long start = BridgeStats.start();
+        ViewLoadTimer.start(viewName, rootTag);
+        BridgeStats.record("startViewLoad", start);
+    }
 
+    /**
+     * Starts sampling UI-thread frame times and JS-thread stalls, reported per screen as numeric metrics.
+     *
+     * @param config optional thresholds and report interval, may be null.
+     */
+    @ReactMethod
+    public static void startPerformanceMonitor(@Nullable ReadableMap config) {
+        JankMonitor.start(config);
+    }
+
+    /**
+     * Stops the performance monitor and reports its pending counters.
+     */
+    @ReactMethod
+    public static void stopPerformanceMonitor() {
+        JankMonitor.stop();
     }
 
     /**
@@ -380,25 +716,27 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      *                     in, the app receives no callbacks.
      */
     @ReactMethod
-    public static void logNetworkEvent(String url, int status, int responseTime, int inBytes, int outBytes, final Callback callback) {
-        CaMDOCallback callbackInternal = new CaMDOCallback(new Handler()) {
+    public static void logNetworkEvent(final String url, final int status, final int responseTime, final int inBytes, final int outBytes, final Callback callback) {
+        final Callback resultCallback = ResultStream.bind("logNetworkEvent", callback);
+        SdkExecutor.executeDroppable(new Runnable() {
             @Override
-            public void onError(int errorCode, Exception exception) {
-                if (callback != null) {
-                    callback.invoke(getErrorJson(errorCode, exception));
+            public void run() {
+                long start = BridgeStats.start();
+                if (!EventGovernor.admitNetworkEvent(url)) {
+                    invokeLocalResult(resultCallback, "dropped");
+                } else if (EventJournal.isActive()
+                        && EventJournal.appendNetwork(UrlNormalizer.normalize(url), status, responseTime, inBytes, outBytes)) {
+                    invokeLocalResult(resultCallback, "journaled");
+                } else if (resultCallback == null) {
+                    CaMDOIntegration.logNetworkEvent(UrlNormalizer.normalize(url), status, responseTime, inBytes, outBytes);
+                    UploadScheduler.onEventsQueued(1);
+                } else {
+                    CaMDOIntegration.logNetworkEvent(UrlNormalizer.normalize(url), status, responseTime, inBytes, outBytes, CallbackDispatcher.wrap("logNetworkEvent", resultCallback, start));
+                    UploadScheduler.onEventsQueued(1);
                 }
-
+                BridgeStats.record("logNetworkEvent", start);
             }
-
-            @Override
-            public void onSuccess(Bundle data) {
-                if (callback != null) {
-                    callback.invoke(getBundleData(data));
-                }
-            }
-        };
-        CaMDOIntegration.logNetworkEvent(url, status, responseTime, inBytes, outBytes, callbackInternal);
-
+        }, droppedResult(resultCallback));
     }
 
 
@@ -412,14 +750,13 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      * @param outBytes     bytes sent as part of request.
      */
     @ReactMethod
-    public static void logNetworkEvent(String url, int statusCode, int responseTime, int inBytes, int outBytes) {
-        CaMDOIntegration.logNetworkEvent(url, statusCode, responseTime, inBytes, outBytes);
-
+    public static void logNetworkEvent(final String url, final int statusCode, final int responseTime, final int inBytes, final int outBytes) {
+        logNetworkEvent(url, statusCode, responseTime, inBytes, outBytes, null);
     }
 
     /**
      * Force an upload of the aggregated event(s).This is an expensive operation and should be
-     * used with caution.
+     * used with caution. Concurrent calls share a single upload.
      * <p>
      * To get the number of events that were uploaded, use the key
      * {@link CaMDOCallback#UPLOAD_EVENT_COUNT} on the Bundle returned by
@@ -430,23 +767,27 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public static void uploadEvents(final Callback callback) {
-        CaMDOCallback callbackInternal = new CaMDOCallback(new Handler()) {
+        final Callback resultCallback = ResultStream.bind("uploadEvents", callback);
+        SdkExecutor.execute(new Runnable() {
             @Override
-            public void onError(int errorCode, Exception exception) {
-                if (callback != null) {
-                    callback.invoke(getErrorJson(errorCode, exception));
-                }
-
+            public void run() {
+                long start = BridgeStats.start();
+                UploadScheduler.upload(resultCallback, start);
+                BridgeStats.record("uploadEvents", start);
             }
+        });
+    }
 
-            @Override
-            public void onSuccess(Bundle data) {
-                if (callback != null) {
-                    callback.invoke(getBundleData(data));
-                }
-            }
-        };
-        CaMDOIntegration.uploadEvents(callbackInternal);
+    /**
+     * Enables an adaptive upload schedule, adding uploads when the app goes to the background and when
+     * enough events are queued or the maximum interval elapsed. The SDK's own uploads are unchanged.
+     *
+     * @param config optional <code>minIntervalSeconds</code> (default 30), <code>maxIntervalSeconds</code>
+     *               (default 300) and <code>batchSize</code> (default 50). null disables the schedule.
+     */
+    @ReactMethod
+    public static void setAdaptiveUpload(@Nullable ReadableMap config) {
+        UploadScheduler.configure(config);
     }
 
     /**
@@ -459,70 +800,361 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      *                    in, the app receives no callbacks.
      */
     @ReactMethod
-    public static void logNumericMetric(String metricName, Double metricValue, ReadableMap attributes, final Callback callback) {
-        Log.d(TAG, "@ logNumericMetrics with name: " + metricName + ", value: " + metricValue + ", attribs:" + attributes);
-        CaMDOCallback callbackInternal = new CaMDOCallback(new Handler()) {
+    public static void logNumericMetric(final String metricName, final Double metricValue, final ReadableMap attributes, final Callback callback) {
+        final Callback resultCallback = ResultStream.bind("logNumericMetric", callback);
+        SdkExecutor.executeDroppable(new Runnable() {
             @Override
-            public void onError(int errorCode, Exception exception) {
-                if (callback != null) {
-                    callback.invoke(getErrorJson(errorCode, exception));
+            public void run() {
+                long start = BridgeStats.start();
+                AxaLog.d("@ logNumericMetrics with name: {}, value: {}, attribs:{}", metricName, metricValue, attributes);
+                double sampleRate = EventGovernor.admitMetric(metricName);
+                if (sampleRate == 0) {
+                    invokeLocalResult(resultCallback, "dropped");
+                } else {
+                    try {
+                        Map<String, String> newMap = PayloadCompactor.compactAttributes(
+                                EventGovernor.tagSampleRate(transformJSMap(attributes), sampleRate));
+                        if (MetricAggregator.add(metricName, metricValue, newMap)) {
+                            invokeLocalResult(resultCallback, "aggregated");
+                        } else if (EventJournal.isActive() && EventJournal.appendNumeric(metricName, metricValue, newMap)) {
+                            invokeLocalResult(resultCallback, "journaled");
+                        } else {
+                            CaMDOCallback callbackInternal = CallbackDispatcher.wrap("logNumericMetric", resultCallback, start);
+                            CaMDOIntegration.logNumericMetric(metricName, metricValue, newMap, callbackInternal);
+                            UploadScheduler.onEventsQueued(1);
+                        }
+                    } catch (NumberFormatException e) {
+                        if (resultCallback != null) {
+                            CallbackDispatcher.wrap("logNumericMetric", resultCallback, start).onError(1, e);
+                        } else {
+                            AxaLog.e("Error in logNumericMetrics {}", e);
+                        }
+
+                    }
                 }
-
+                BridgeStats.record("logNumericMetric", start);
             }
+        }, droppedResult(resultCallback));
+    }
 
+    /**
+     * Logs Text Metric.
+     *
+     * @param metricName
+     * @param metricValue
+     * @param attributes  (optional)
+     * @param callback    The callback to the application, in case of an error/success. if null is passed
+     *                    in, the app receives no callbacks.
+     */
+    @ReactMethod
+    public static void logTextMetric(final String metricName, final String metricValue, final ReadableMap attributes, final Callback callback) {
+        final Callback resultCallback = ResultStream.bind("logTextMetric", callback);
+        SdkExecutor.executeDroppable(new Runnable() {
             @Override
-            public void onSuccess(Bundle data) {
-                if (callback != null) {
-                    callback.invoke(getBundleData(data));
+            public void run() {
+                long start = BridgeStats.start();
+                AxaLog.d("@ logTextMetrics with name: {}, value: {}, attribs:{}", metricName, metricValue, attributes);
+                double sampleRate = EventGovernor.admitMetric(metricName);
+                if (sampleRate == 0) {
+                    invokeLocalResult(resultCallback, "dropped");
+                } else {
+                    Map<String, String> newMap = PayloadCompactor.compactAttributes(
+                            EventGovernor.tagSampleRate(transformJSMap(attributes), sampleRate));
+                    String value = PayloadCompactor.compactText(metricValue);
+                    if (EventJournal.isActive() && EventJournal.appendText(metricName, value, newMap)) {
+                        invokeLocalResult(resultCallback, "journaled");
+                    } else {
+                        CaMDOCallback callbackInternal = CallbackDispatcher.wrap("logTextMetric", resultCallback, start);
+                        CaMDOIntegration.logTextMetric(metricName, value, newMap, callbackInternal);
+                        UploadScheduler.onEventsQueued(1);
+                    }
                 }
+                BridgeStats.record("logTextMetric", start);
             }
-        };
+        }, droppedResult(resultCallback));
+    }
 
-        try {
-            Map<String, String> newMap = transformJSMap(attributes);
-            CaMDOIntegration.logNumericMetric(metricName, metricValue, newMap, callbackInternal);
-        } catch (NumberFormatException e) {
-            if (callback != null) {
-                callback.invoke(getErrorJson(1, e));
-            } else {
-                Log.e(TAG, "Error in logNumericMetrics " + e);
+    /**
+     * Configures normalization of the URLs of network events, to bound the number of distinct endpoints.
+     * <p>
+     * URLs matching a template are reduced to it, otherwise numeric, UUID and hash path segments are
+     * collapsed. Endpoints beyond <code>maxEndpoints</code> are logged as <code>{other}</code> on their host.
+     *
+     * @param config optional <code>templates</code> (path templates where <code>{name}</code> matches one
+     *               segment), <code>stripQueryParams</code> (parameter names, or true for the whole query),
+     *               <code>maxEndpoints</code> (default 200) and <code>cacheSize</code> (default 512).
+     *               null disables normalization.
+     */
+    @ReactMethod
+    public static void setUrlNormalization(ReadableMap config) {
+        UrlNormalizer.configure(config);
+    }
+
+    /**
+     * Configures native pre-aggregation of numeric metrics.
+     * <p>
+     * Samples of the matching metrics are aggregated per metric name and attribute set, and one summary
+     * per flush interval is logged: the mean as value, and count, sum, min, max, p50, p90 and p99 as
+     * <code>axa.*</code> attributes. Aggregated calls complete their callback with <code>aggregated</code> set.
+     *
+     * @param config <code>metrics</code>, an array of metric name patterns where <code>*</code> matches any
+     *               text, and optionally <code>flushIntervalSeconds</code> (default 60) and
+     *               <code>maxKeys</code> (default 100). null disables aggregation.
+     */
+    @ReactMethod
+    public static void setMetricAggregation(ReadableMap config) {
+        MetricAggregator.configure(config);
+    }
+
+    /**
+     * Logs the pending metric aggregates now, instead of at the end of the flush interval.
+     */
+    @ReactMethod
+    public static void flushMetricAggregates() {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                MetricAggregator.flush();
             }
+        });
+    }
 
+    /**
+     * Configures sampling and rate limiting of network events and metrics.
+     * <p>
+     * The config holds optional <code>network</code> and <code>metrics</code> arrays of rules. Each rule
+     * has a <code>pattern</code> matched against the URL or metric name, where <code>*</code> matches
+     * any text, and optionally a <code>sampleRate</code> (0 to 1), a <code>ratePerSecond</code> and a
+     * <code>burst</code>. The first matching rule applies; events matching no rule are always logged.
+     * Dropped calls complete their callback with <code>dropped</code> set. The counts of each rule are
+     * logged as metrics every <code>reportIntervalSeconds</code> (default 60, 0 to not log them).
+     *
+     * @param config the rules, null to remove them
+     */
+    @ReactMethod
+    public static void setEventGovernor(ReadableMap config) {
+        EventGovernor.configure(config);
+    }
+
+    /**
+     * Returns the forwarded, sampled out and rate limited counts of each rule set by
+     * {@link #setEventGovernor(ReadableMap)}.
+     *
+     * @param callback Callback function, that returns an array of rule counters
+     */
+    @ReactMethod
+    public static void getEventGovernorStats(Callback callback) {
+        if (callback != null) {
+            callback.invoke(EventGovernor.toWritableArray());
         }
+    }
 
+    /**
+     * Bounds the size of text metric values and metric attributes before they reach the SDK.
+     *
+     * @param config optional <code>maxTextLength</code> (default 4096), <code>maxAttributeLength</code>
+     *               (default 256), both at least 64, <code>maxAttributes</code> (default 32) and <code>minDedupLength</code>
+     *               (default 0, de-duplication disabled; applies within a logMetricsBatch call only).
+     *               null disables compaction.
+     */
+    @ReactMethod
+    public static void setPayloadCompaction(@Nullable ReadableMap config) {
+        PayloadCompactor.configure(config);
     }
 
     /**
-     * Logs Text Metric.
+     * Returns the counts of truncated values, dropped attributes and de-duplicated values.
      *
-     * @param metricName
-     * @param metricValue
-     * @param attributes  (optional)
-     * @param callback    The callback to the application, in case of an error/success. if null is passed
-     *                    in, the app receives no callbacks.
+     * @param callback invoked with the counters
      */
     @ReactMethod
-    public static void logTextMetric(String metricName, String metricValue, ReadableMap attributes, final Callback callback) {
-        Log.d(TAG, "@ logTextMetrics with name: " + metricName + ", value: " + metricValue + ", attribs:" + attributes);
-        CaMDOCallback callbackInternal = new CaMDOCallback(new Handler()) {
-            @Override
-            public void onError(int errorCode, Exception exception) {
-                if (callback != null) {
-                    callback.invoke(getErrorJson(errorCode, exception));
-                }
+    public static void getPayloadStats(Callback callback) {
+        if (callback != null) {
+            callback.invoke(PayloadCompactor.toWritableMap());
+        }
+    }
+
+    /**
+     * Enables the instrumentation of this module: per method call counts, error counts, and
+     * histograms of the time spent in the method and until the SDK callback.
+     *
+     * @param enabled               true to record
+     * @param reportIntervalSeconds when greater than 0, the stats are also logged as numeric
+     *                              metrics at this interval
+     */
+    @ReactMethod
+    public static void setBridgeStatsEnabled(boolean enabled, int reportIntervalSeconds) {
+        BridgeStats.setEnabled(enabled, reportIntervalSeconds);
+    }
+
+    /**
+     * Returns the instrumentation recorded since {@link #setBridgeStatsEnabled(boolean, int)}.
+     *
+     * @param callback Callback function, that returns the bucket bounds and the stats per method
+     */
+    @ReactMethod
+    public static void getBridgeStats(Callback callback) {
+        if (callback != null) {
+            callback.invoke(BridgeStats.toWritableMap());
+        }
+    }
+
+    /**
+     * Returns what the module added to cold start, in milliseconds: <code>moduleInitMs</code>,
+     * <code>constantsMs</code> and their sum <code>startupCostMs</code>, the deferred <code>warmUpMs</code>,
+     * and <code>moduleCreatedAtMs</code> / <code>firstFrameAtMs</code> since process start (API 24+).
+     *
+     * @param callback invoked with the trace
+     */
+    @ReactMethod
+    public static void getStartupTrace(Callback callback) {
+        if (callback != null) {
+            callback.invoke(StartupTrace.toWritableMap());
+        }
+    }
+
+    /**
+     * Configures the dedicated thread running the SDK calls.
+     *
+     * @param config optional <code>maxQueued</code>, the maximum number of queued metrics and network
+     *               events (default 500), beyond which the oldest is dropped. Other calls are never
+     *               dropped. null runs the SDK calls on the native modules thread again.
+     */
+    @ReactMethod
+    public static void setSdkExecutor(@Nullable ReadableMap config) {
+        SdkExecutor.configure(config);
+    }
 
+    /**
+     * Returns the queue depth, wait times and call counts of the thread running the SDK calls.
+     *
+     * @param callback invoked with the stats
+     */
+    @ReactMethod
+    public static void getSdkExecutorStats(Callback callback) {
+        if (callback != null) {
+            callback.invoke(SdkExecutor.toWritableMap());
+        }
+    }
+
+    /**
+     * Sets the log level of the bridge module. Messages below the level are not formatted at all.
+     *
+     * @param level one of verbose, debug, info, warn (the default), error or none
+     */
+    @ReactMethod
+    public static void setLogLevel(String level) {
+        AxaLog.setLevel(level);
+    }
+
+    /**
+     * Keeps the most recent log lines of the bridge module in memory, for diagnostics in debug builds.
+     *
+     * @param capacity number of lines to keep, 0 to disable
+     */
+    @ReactMethod
+    public static void setLogBufferSize(int capacity) {
+        AxaLog.setBufferCapacity(capacity);
+    }
+
+    /**
+     * Returns the log lines kept by {@link #setLogBufferSize(int)}, oldest first.
+     *
+     * @param callback Callback function, that returns an array of strings
+     */
+    @ReactMethod
+    public static void getRecentLogs(Callback callback) {
+        if (callback != null) {
+            WritableArray lines = Arguments.createArray();
+            for (String line : AxaLog.getRecentLines()) {
+                lines.pushString(line);
             }
+            callback.invoke(lines);
+        }
+    }
+
+    /**
+     * Selects the format of the results passed to callbacks.
+     * <p>
+     * When enabled, SDK data is returned as a map with the typed values of the SDK Bundle, and errors
+     * as a map with <code>status</code>, <code>code</code> and <code>reason</code>. When disabled (the
+     * default), both are returned as JSON strings.
+     *
+     * @param enabled true for typed results
+     */
+    @ReactMethod
+    public static void setTypedResultsEnabled(boolean enabled) {
+        typedResults = enabled;
+    }
+
+    /**
+     * Streams the SDK results of calls made without a callback to JS, batched into one
+     * <code>AxaSdkResults</code> event per interval, each result tagged with a request id.
+     *
+     * @param config optional <code>intervalMs</code> (default 16) and <code>maxQueued</code> (default 1000).
+     *               null disables the stream.
+     */
+    @ReactMethod
+    public static void setResultStream(@Nullable ReadableMap config) {
+        ResultStream.configure(config);
+    }
 
+    /**
+     * Logs a batch of numeric metrics, text metrics and network events in one bridge call.
+     * <p>
+     * Each entry is a map with a <code>type</code> of <code>numeric</code>, <code>text</code> or
+     * <code>network</code>. Metric entries carry <code>name</code>, <code>value</code> and optional
+     * <code>attributes</code>; network entries carry <code>url</code>, <code>status</code>,
+     * <code>responseTime</code>, <code>inBytes</code> and <code>outBytes</code>.
+     * Entries are buffered natively and drained to the SDK in a single pass.
+     *
+     * @param events   array of event records
+     * @param callback The callback to the application, invoked once with the count of logged, rejected,
+     *                 dropped and aggregated records. if null is passed in, the app receives no callbacks.
+     */
+    @ReactMethod
+    public static void logMetricsBatch(final ReadableArray events, final Callback callback) {
+        SdkExecutor.executeDroppable(new Runnable() {
             @Override
-            public void onSuccess(Bundle data) {
+            public void run() {
+                long start = BridgeStats.start();
+                int logged = 0;
+                int rejected = 0;
+                int dropped = 0;
+                int aggregated = 0;
+                if (events != null) {
+                    synchronized (metricsBuffer) {
+                        PayloadCompactor.beginBatch();
+                        try {
+                            for (int i = 0; i < events.size(); i++) {
+                                int outcome = events.getType(i) == ReadableType.Map ? offerBatchEntry(events.getMap(i)) : BATCH_REJECTED;
+                                if (outcome == BATCH_REJECTED) {
+                                    rejected++;
+                                } else if (outcome == BATCH_DROPPED) {
+                                    dropped++;
+                                } else if (outcome == BATCH_AGGREGATED) {
+                                    aggregated++;
+                                } else if (metricsBuffer.isFull()) {
+                                    logged += metricsBuffer.drain();
+                                }
+                            }
+                            logged += metricsBuffer.drain();
+                        } finally {
+                            PayloadCompactor.endBatch();
+                        }
+                    }
+                }
                 if (callback != null) {
-                    callback.invoke(getBundleData(data));
+                    WritableMap result = Arguments.createMap();
+                    result.putInt("logged", logged);
+                    result.putInt("rejected", rejected);
+                    result.putInt("dropped", dropped);
+                    result.putInt("aggregated", aggregated);
+                    callback.invoke(rejected == 0, result);
                 }
+                BridgeStats.record("logMetricsBatch", start);
             }
-        };
-        Map<String, String> newMap = transformJSMap(attributes);
-        CaMDOIntegration.logTextMetric(metricName, metricValue, newMap, callbackInternal);
-
+        }, droppedBatch(events, callback));
     }
 
     /**
@@ -532,11 +1164,46 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      *                 values ( value of header )
      */
     @ReactMethod
-    public static void getAPMHeaders(Callback callback) {
+    public static void getAPMHeaders(final Callback callback) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
 
-        if (callback != null) {
-            callback.invoke(toWritableMap(CaMDOIntegration.getAPMHeaders()));
-        }
+                if (callback != null) {
+                    callback.invoke(toWritableMap(ApmHeaderCache.getHeaders()));
+                }
+                BridgeStats.record("getAPMHeaders", start);
+            }
+        });
+    }
+
+    /**
+     * Returns the version of the APM headers. The version changes, and an
+     * <code>AxaApmHeadersChanged</code> event is emitted, whenever an API call changes the headers.
+     *
+     * @return the headers version
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public static int getAPMHeadersVersion() {
+        SdkExecutor.awaitWrites(SdkExecutor.WRITES_HEADERS);
+        return ApmHeaderCache.getVersion();
+    }
+
+    /**
+     * Required by NativeEventEmitter, for the events emitted by this module.
+     */
+    @ReactMethod
+    public static void addListener(String eventName) {
+        AxaEventEmitter.addListener();
+    }
+
+    /**
+     * Required by NativeEventEmitter, for the events emitted by this module.
+     */
+    @ReactMethod
+    public static void removeListeners(int count) {
+        AxaEventEmitter.removeListeners(count);
     }
 
     /**
@@ -545,9 +1212,16 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      * @param headerString
      */
     @ReactMethod
-    public static void addToApmHeader(String headerString) {
-        CaMDOIntegration.addToApmHeader(headerString);
-
+    public static void addToApmHeader(final String headerString) {
+        SdkExecutor.executeWrite(SdkExecutor.WRITES_HEADERS, new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOIntegration.addToApmHeader(headerString);
+                ApmHeaderCache.invalidate();
+                BridgeStats.record("addToApmHeader", start);
+            }
+        });
     }
 
     /**
@@ -556,23 +1230,46 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      * @param func Callback function, that returns the customerId as a String.
      */
     @ReactMethod
-    public static void getCustomerId(Callback func) {
-        if (func != null) {
-            func.invoke(CaMDOIntegration.getCustomerId());
-        }
+    public static void getCustomerId(final Callback func) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (func != null) {
+                    func.invoke(CaMDOIntegration.getCustomerId());
+                }
+            }
+        });
+    }
 
+    /**
+     * Get the CustomerId, synchronously.
+     *
+     * @return the customerId
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public static String getCustomerIdSync() {
+        SdkExecutor.awaitWrites(SdkExecutor.WRITES_CUSTOMER_ID);
+        return CaMDOIntegration.getCustomerId();
     }
 
     /**
      * Set the CustomerID
      */
     @ReactMethod
-    public static void setCustomerId(String customerId, Callback callback) {
-        Log.d(TAG, "@ setCustomerId with value " + customerId + ", callback " + callback);
-        CaMDOIntegration.setCustomerId(customerId);
-        if (callback != null) {
-            callback.invoke(true);
-        }
+    public static void setCustomerId(final String customerId, final Callback callback) {
+        SdkExecutor.executeWrite(SdkExecutor.WRITES_CUSTOMER_ID | SdkExecutor.WRITES_HEADERS, new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                AxaLog.d("@ setCustomerId with value {}, callback {}", customerId, callback);
+                CaMDOIntegration.setCustomerId(customerId);
+                ApmHeaderCache.invalidate();
+                if (callback != null) {
+                    callback.invoke(true);
+                }
+                BridgeStats.record("setCustomerId", start);
+            }
+        });
     }
 
     /**
@@ -581,23 +1278,70 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      * @param func Callback function, that returns the deviceId as a String.
      */
     @ReactMethod
-    public static void getDeviceId(Callback func) {
-        String deviceID = CaMDOIntegration.getDeviceId();
-        if (func != null) {
-            func.invoke(deviceID);
-        }
+    public static void getDeviceId(final Callback func) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                String deviceID = CaMDOIntegration.getDeviceId();
+                if (func != null) {
+                    func.invoke(deviceID);
+                }
+            }
+        });
     }
 
-    @ReactMethod
-    public static void ignoreView(String viewName) {
-        CaMDOIntegration.ignoreView(viewName);
+    /**
+     * Gets the DeviceId, synchronously.
+     *
+     * @return the deviceId
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public static String getDeviceIdSync() {
+        return CaMDOIntegration.getDeviceId();
+    }
 
+    @ReactMethod
+    public static void ignoreView(final String viewName) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                CaMDOIntegration.ignoreView(viewName);
+                BridgeStats.record("ignoreView", start);
+            }
+        });
     }
 
     @ReactMethod
-    public static void ignoreViews(HashSet<String> viewNames) {
-        CaMDOIntegration.ignoreViews(viewNames);
+    public static void ignoreViews(final HashSet<String> viewNames) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                CaMDOIntegration.ignoreViews(viewNames);
+            }
+        });
+    }
 
+    /**
+     * Ignores views by name, prefix or wildcard, in a single call.
+     * <p>
+     * Exact names are registered with the SDK at once. A pattern ending with <code>*</code> matches the
+     * names starting with its prefix, and <code>*</code> elsewhere matches any text. Views matching a
+     * pattern are registered with the SDK when first seen by viewLoaded, startViewLoad or sendScreenShot.
+     *
+     * @param patterns array of view names and patterns
+     */
+    @ReactMethod
+    public static void ignoreViewPatterns(final ReadableArray patterns) {
+        SdkExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                long start = BridgeStats.start();
+                int added = ViewIgnoreMatcher.add(patterns);
+                AxaLog.d("@ ignoreViewPatterns added {} patterns", added);
+                BridgeStats.record("ignoreViewPatterns", start);
+            }
+        });
     }
 
 
@@ -618,7 +1362,7 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public static void throwException(int type) {
-        Log.d(TAG, "@ throwException of type:" + type);
+        AxaLog.d("@ throwException of type:{}", type);
         switch (type) {
             case 0:
                 throw new NullPointerException("induced NPE ");
@@ -636,6 +1380,150 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
 
     // Utility functions
 
+    /**
+     * Completes a call that was handled natively without reaching the SDK, e.g. dropped or aggregated.
+     */
+    static void invokeLocalResult(Callback callback, String flag) {
+        if (callback != null) {
+            Bundle data = new Bundle();
+            data.putBoolean(flag, true);
+            callback.invoke(getBundleResult(data));
+        }
+    }
+
+    /**
+     * @return the task completing the callback of a call dropped by {@link SdkExecutor}, or null.
+     */
+    private static Runnable droppedResult(final Callback callback) {
+        if (callback == null) {
+            return null;
+        }
+        return new Runnable() {
+            @Override
+            public void run() {
+                invokeLocalResult(callback, "dropped");
+            }
+        };
+    }
+
+    private static Runnable droppedBatch(final ReadableArray events, final Callback callback) {
+        if (callback == null) {
+            return null;
+        }
+        return new Runnable() {
+            @Override
+            public void run() {
+                WritableMap result = Arguments.createMap();
+                result.putInt("logged", 0);
+                result.putInt("rejected", 0);
+                result.putInt("dropped", events == null ? 0 : events.size());
+                result.putInt("aggregated", 0);
+                callback.invoke(true, result);
+            }
+        };
+    }
+
+    private static void writeSessionAttribute(String name, String value) {
+        if (!EventJournal.isActive() || !EventJournal.appendSessionAttribute(name, value)) {
+            CaMDOIntegration.setSessionAttribute(name, value);
+        }
+    }
+
+    /**
+     * @return BATCH_BUFFERED, or BATCH_DROPPED / BATCH_AGGREGATED when the entry was handled without
+     * being buffered, or BATCH_REJECTED when it is invalid.
+     */
+    private static int offerBatchEntry(ReadableMap entry) {
+        if (entry == null || !entry.hasKey("type")) {
+            return BATCH_REJECTED;
+        }
+        String type = entry.getString("type");
+        try {
+            if ("numeric".equals(type)) {
+                String name = entry.getString("name");
+                double value = entry.getDouble("value");
+                double sampleRate = EventGovernor.admitMetric(name);
+                if (sampleRate == 0) {
+                    return BATCH_DROPPED;
+                }
+                Map<String, String> attributes = PayloadCompactor.compactAttributes(EventGovernor.tagSampleRate(
+                        transformJSMap(entry.hasKey("attributes") ? entry.getMap("attributes") : null), sampleRate));
+                if (MetricAggregator.add(name, value, attributes)) {
+                    return BATCH_AGGREGATED;
+                }
+                metricsBuffer.offerNumeric(name, value, PayloadCompactor.dedupAttributes(attributes));
+            } else if ("text".equals(type)) {
+                String name = entry.getString("name");
+                String value = entry.getString("value");
+                double sampleRate = EventGovernor.admitMetric(name);
+                if (sampleRate == 0) {
+                    return BATCH_DROPPED;
+                }
+                metricsBuffer.offerText(name, PayloadCompactor.dedupText(PayloadCompactor.compactText(value)),
+                        PayloadCompactor.dedupAttributes(PayloadCompactor.compactAttributes(EventGovernor.tagSampleRate(
+                                transformJSMap(entry.hasKey("attributes") ? entry.getMap("attributes") : null), sampleRate))));
+            } else if ("network".equals(type)) {
+                String url = entry.getString("url");
+                int status = entry.getInt("status");
+                int responseTime = entry.getInt("responseTime");
+                int inBytes = entry.getInt("inBytes");
+                int outBytes = entry.getInt("outBytes");
+                if (!EventGovernor.admitNetworkEvent(url)) {
+                    return BATCH_DROPPED;
+                }
+                metricsBuffer.offerNetwork(UrlNormalizer.normalize(url), status, responseTime, inBytes, outBytes);
+            } else {
+                return BATCH_REJECTED;
+            }
+        } catch (RuntimeException e) {
+            AxaLog.e("Error in logMetricsBatch entry {}", e);
+            return BATCH_REJECTED;
+        }
+        return BATCH_BUFFERED;
+    }
+
+    /**
+     * @return the error for a JS callback: a map when typed results are enabled, a JSON string otherwise.
+     */
+    static Object getErrorResult(int errorCode, Exception e) {
+        if (!typedResults) {
+            return getErrorJson(errorCode, e);
+        }
+        WritableMap error = Arguments.createMap();
+        error.putString("status", "error");
+        error.putInt("code", errorCode);
+        error.putString("reason", String.valueOf(e));
+        return error;
+    }
+
+    /**
+     * @return the SDK data for a JS callback: a map when typed results are enabled, a JSON string otherwise.
+     */
+    static Object getBundleResult(Bundle data) {
+        return typedResults ? getBundleMap(data) : getBundleData(data);
+    }
+
+    private static WritableMap getBundleMap(Bundle data) {
+        WritableMap result = Arguments.createMap();
+        if (data != null) {
+            for (String key : data.keySet()) {
+                Object value = data.get(key);
+                if (value == null) {
+                    result.putNull(key);
+                } else if (value instanceof Boolean) {
+                    result.putBoolean(key, (Boolean) value);
+                } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                    result.putInt(key, ((Number) value).intValue());
+                } else if (value instanceof Number) {
+                    result.putDouble(key, ((Number) value).doubleValue());
+                } else {
+                    result.putString(key, value.toString());
+                }
+            }
+        }
+        return result;
+    }
+
     private static String getErrorJson(int errorCode, Exception e) {
         JSONObject obj = new JSONObject();
         try {
@@ -648,8 +1536,8 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
 
     }
 
-    private static String getBundleData(Bundle data) {
-        Log.d(TAG, "@ getBundleData of data:" + data);
+    static String getBundleData(Bundle data) {
+        AxaLog.d("@ getBundleData of data:{}", data);
         JSONArray returnValue = new JSONArray();
         if (data != null) {
             Set<String> keys = data.keySet();
@@ -666,27 +1554,15 @@ public class ReactNativeAxaMobileSdkModule extends ReactContextBaseJavaModule {
         return returnValue.toString();
     }
 
-    private static Map<String, String> transformJSMap(ReadableMap data) {
-        Map<String, String> newMap = new HashMap<>();
-        if (data != null) {
-            data.toHashMap();
-            for (Map.Entry<String, Object> entry : data.toHashMap().entrySet()) {
-                newMap.put(entry.getKey(), "" + entry.getValue());
-            }
-        }
-        return newMap;
+    static Map<String, String> transformJSMap(ReadableMap data) {
+        return AttributeConverter.toStringMap(data);
     }
 
-    private static WritableMap toWritableMap(Map<String, String> map) {
+    static WritableMap toWritableMap(Map<String, String> map) {
         WritableMap writableMap = Arguments.createMap();
         if (map != null) {
-            Iterator iterator = map.entrySet().iterator();
-
-            while (iterator.hasNext()) {
-                Map.Entry pair = (Map.Entry) iterator.next();
-                Object value = pair.getValue();
-                writableMap.putString((String) pair.getKey(), (String) value);
-                iterator.remove();
+            for (Map.Entry<String, String> pair : map.entrySet()) {
+                writableMap.putString(pair.getKey(), pair.getValue());
             }
         }
         return writableMap;
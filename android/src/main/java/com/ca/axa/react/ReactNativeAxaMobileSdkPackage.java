@@ -2,19 +2,80 @@
 
 package com.ca.axa.react;
 
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import com.facebook.react.ReactPackage;
+import android.content.Context;
+
+import com.facebook.react.TurboReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
+import com.facebook.react.modules.network.OkHttpClientFactory;
+import com.facebook.react.modules.network.OkHttpClientProvider;
 import com.facebook.react.uimanager.ViewManager;
 
-public class ReactNativeAxaMobileSdkPackage implements ReactPackage {
+import okhttp3.OkHttpClient;
+
+/**
+ * Registers the AXA module: a TurboModule when the New Architecture is enabled, the legacy
+ * bridge module otherwise. The module is not eagerly initialized; it is created on first use.
+ */
+public class ReactNativeAxaMobileSdkPackage extends TurboReactPackage {
+
+    /**
+     * Installs {@link AxaNetworkInterceptor} on React Native's OkHttp client factory, so that
+     * fetch / XMLHttpRequest calls carry the APM headers and are logged without any JS involvement.
+     * <p>
+     * Call this from <code>Application.onCreate</code>, before the React instance is created.
+     * It replaces any factory previously set on {@link OkHttpClientProvider}, and should not be
+     * combined with adding <code>MAAInterceptor</code> to the same client.
+     *
+     * @param context application context
+     */
+    public static void enableNetworkCapture(final Context context) {
+        final Context appContext = context.getApplicationContext();
+        OkHttpClientProvider.setOkHttpClientFactory(new OkHttpClientFactory() {
+            @Override
+            public OkHttpClient createNewNetworkModuleClient() {
+                return OkHttpClientProvider.createClientBuilder(appContext)
+                        .addInterceptor(new AxaNetworkInterceptor())
+                        .build();
+            }
+        });
+    }
+
+    @Override
+    public NativeModule getModule(String name, ReactApplicationContext reactContext) {
+        if (ReactNativeAxaMobileSdkModule.NAME.equals(name)) {
+            long start = StartupTrace.begin();
+            NativeModule module = ReactNativeAxaMobileSdkModuleProvider.createModule(reactContext);
+            StartupTrace.moduleCreated(start);
+            return module;
+        }
+        return null;
+    }
+
     @Override
-    public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-        return Arrays.<NativeModule>asList(new ReactNativeAxaMobileSdkModule(reactContext));
+    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+        return new ReactModuleInfoProvider() {
+            @Override
+            public Map<String, ReactModuleInfo> getReactModuleInfos() {
+                final Map<String, ReactModuleInfo> moduleInfos = new HashMap<>();
+                moduleInfos.put(ReactNativeAxaMobileSdkModule.NAME, new ReactModuleInfo(
+                        ReactNativeAxaMobileSdkModule.NAME,
+                        ReactNativeAxaMobileSdkModule.NAME,
+                        false, // canOverrideExistingModule
+                        false, // needsEagerInit
+                        true, // hasConstants
+                        false, // isCxxModule
+                        ReactNativeAxaMobileSdkModuleProvider.IS_TURBO_MODULE));
+                return moduleInfos;
+            }
+        };
     }
 
     @Override
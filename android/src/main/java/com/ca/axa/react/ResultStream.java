@@ -0,0 +1,211 @@
+// ResultStream.java
+
+package com.ca.axa.react;
+
+import com.ca.integration.CaMDOCallback;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import android.os.Bundle;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batched stream of SDK results, for calls made without a JS callback.
+ * <p>
+ * When enabled, the results of such calls are queued natively, tagged with a request id and the
+ * method name, and emitted to JS as a single {@link #EVENT_RESULTS} event per interval. This covers the
+ * SDK results and the results completed natively, e.g. dropped, aggregated or journaled calls.
+ * <p>
+ * The request id is assigned when the call reaches native code, before it is queued for the SDK: it is
+ * the next number of a count of the streamed calls, starting at 1 when the stream is enabled. Calls reach
+ * native code in the order JS makes them, so JS can count its own streamed calls to know their ids,
+ * without a bridge call per call. The queue is bounded; the oldest results are dropped and counted when
+ * it overflows.
+ */
+final class ResultStream {
+
+    static final String EVENT_RESULTS = "AxaSdkResults";
+
+    private static final int DEFAULT_INTERVAL_MILLIS = 16;
+    private static final int DEFAULT_MAX_QUEUED = 1000;
+
+    private static final AtomicInteger nextRequestId = new AtomicInteger();
+    private static volatile boolean enabled;
+    private static volatile long intervalMillis = DEFAULT_INTERVAL_MILLIS;
+    private static volatile int maxQueued = DEFAULT_MAX_QUEUED;
+
+    /** Guarded by ResultStream.class. */
+    private static ArrayDeque<Result> queue = new ArrayDeque<>();
+    private static int dropped;
+    private static boolean flushScheduled;
+
+    private static final class Result {
+        final int requestId;
+        final String method;
+        final boolean success;
+        /** Result completed natively, as passed to a JS callback; null for an SDK result. */
+        final Object value;
+        final Bundle data;
+        final int errorCode;
+        final Exception exception;
+
+        Result(int requestId, String method, boolean success, Object value, Bundle data, int errorCode, Exception exception) {
+            this.requestId = requestId;
+            this.method = method;
+            this.success = success;
+            this.value = value;
+            this.data = data;
+            this.errorCode = errorCode;
+            this.exception = exception;
+        }
+
+        /** Converts SDK results when emitted, off the calling thread. */
+        Object toValue() {
+            if (value != null) {
+                return value;
+            }
+            return success
+                    ? ReactNativeAxaMobileSdkModule.getBundleResult(data)
+                    : ReactNativeAxaMobileSdkModule.getErrorResult(errorCode, exception);
+        }
+    }
+
+    /**
+     * Stands for the missing JS callback of a streamed call: completed natively as a JS callback, or
+     * passed to the SDK as its callback by {@link CallbackDispatcher}.
+     */
+    static final class StreamingCallback extends CaMDOCallback implements Callback {
+
+        private final int requestId;
+        private final String method;
+        private final long start;
+
+        StreamingCallback(int requestId, String method, long start) {
+            super(CallbackDispatcher.getHandler());
+            this.requestId = requestId;
+            this.method = method;
+            this.start = start;
+        }
+
+        @Override
+        public void onError(int errorCode, Exception exception) {
+            BridgeStats.recordCallback(method, start, true);
+            offer(new Result(requestId, method, false, null, null, errorCode, exception));
+        }
+
+        @Override
+        public void onSuccess(Bundle data) {
+            BridgeStats.recordCallback(method, start, false);
+            offer(new Result(requestId, method, true, null, data, 0, null));
+        }
+
+        /** Result completed natively, with an optional leading success flag. */
+        @Override
+        public void invoke(Object... args) {
+            boolean success = args.length < 2 || !(args[0] instanceof Boolean) || (Boolean) args[0];
+            Object value = args.length == 0 ? null : args[args.length - 1];
+            offer(new Result(requestId, method, success, value != null ? value : "", null, 0, null));
+        }
+    }
+
+    private static final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private ResultStream() {
+    }
+
+    /**
+     * Enables or disables the stream. The config holds optional <code>intervalMs</code> and
+     * <code>maxQueued</code>; null disables it, and the queued results are emitted.
+     */
+    static void configure(ReadableMap config) {
+        if (config != null) {
+            intervalMillis = Math.max(1, config.hasKey("intervalMs") ? config.getInt("intervalMs") : DEFAULT_INTERVAL_MILLIS);
+            maxQueued = Math.max(1, config.hasKey("maxQueued") ? config.getInt("maxQueued") : DEFAULT_MAX_QUEUED);
+        }
+        if (config != null && !enabled) {
+            nextRequestId.set(0);
+        }
+        enabled = config != null;
+        if (!enabled) {
+            CallbackDispatcher.getHandler().post(flushTask);
+        }
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Binds a call to the stream. Called when the call reaches native code, so that request ids follow
+     * the call order.
+     *
+     * @return the JS callback when there is one or the stream is disabled, a {@link StreamingCallback} otherwise.
+     */
+    static Callback bind(String method, Callback callback) {
+        if (callback != null || !enabled) {
+            return callback;
+        }
+        return new StreamingCallback(nextRequestId.incrementAndGet(), method, BridgeStats.start());
+    }
+
+    private static synchronized void offer(Result result) {
+        if (queue.size() >= maxQueued) {
+            queue.pollFirst();
+            dropped++;
+        }
+        queue.add(result);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            CallbackDispatcher.getHandler().postDelayed(flushTask, intervalMillis);
+        }
+    }
+
+    private static void flush() {
+        ArrayDeque<Result> results;
+        int droppedResults;
+        synchronized (ResultStream.class) {
+            flushScheduled = false;
+            if (queue.isEmpty()) {
+                return;
+            }
+            if (!AxaEventEmitter.hasListeners()) {
+                queue.clear();
+                dropped = 0;
+                return;
+            }
+            results = queue;
+            droppedResults = dropped;
+            queue = new ArrayDeque<>();
+            dropped = 0;
+        }
+        WritableArray array = Arguments.createArray();
+        for (Result result : results) {
+            WritableMap entry = Arguments.createMap();
+            entry.putInt("requestId", result.requestId);
+            entry.putString("method", result.method);
+            entry.putBoolean("success", result.success);
+            Object value = result.toValue();
+            if (value instanceof WritableMap) {
+                entry.putMap("result", (WritableMap) value);
+            } else {
+                entry.putString("result", String.valueOf(value));
+            }
+            array.pushMap(entry);
+        }
+        WritableMap event = Arguments.createMap();
+        event.putArray("results", array);
+        event.putInt("dropped", droppedResults);
+        AxaEventEmitter.emit(EVENT_RESULTS, event);
+    }
+}
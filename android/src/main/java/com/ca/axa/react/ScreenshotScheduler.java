@@ -0,0 +1,211 @@
+// ScreenshotScheduler.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.ReadableMap;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+
+/**
+ * Schedules the screenshots requested through sendScreenShot, when enabled.
+ * <p>
+ * Requests are debounced: a request replaces the one still pending, for the same screen or another
+ * one the user navigated to, and the replaced request completes with <code>coalesced</code>.
+ * Requests are skipped without reaching the SDK when the screenshot policy is disabled or the app is
+ * in a private zone. The capture runs when the main thread is next idle, and the quality is stepped
+ * down from HIGH to MEDIUM to LOW while the app is under memory pressure.
+ */
+final class ScreenshotScheduler implements ComponentCallbacks2 {
+
+    private static final int DEFAULT_DEBOUNCE_MILLIS = 300;
+    private static final long PRESSURE_DECAY_MILLIS = 30000;
+    private static final double HEAP_PRESSURE_RATIO = 0.85;
+
+    private static final ScreenshotScheduler instance = new ScreenshotScheduler();
+
+    private static volatile Context appContext;
+    private static volatile boolean enabled;
+    private static volatile boolean adaptiveQuality = true;
+    private static volatile int debounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+    private static boolean callbacksRegistered;
+
+    private static volatile int trimSteps;
+    private static volatile long trimTime;
+
+    /** Guarded by instance. */
+    private static Request pending;
+
+    private static final class Request implements Runnable, MessageQueue.IdleHandler {
+        final String screenName;
+        final int imageQuality;
+        final Callback callback;
+        final long start;
+
+        Request(String screenName, int imageQuality, Callback callback, long start) {
+            this.screenName = screenName;
+            this.imageQuality = imageQuality;
+            this.callback = callback;
+            this.start = start;
+        }
+
+        /** Debounce elapsed: wait for the main thread to be idle. */
+        @Override
+        public void run() {
+            synchronized (instance) {
+                if (pending != this) {
+                    return;
+                }
+            }
+            new Handler(Looper.getMainLooper()).post(new Runnable() {
+                @Override
+                public void run() {
+                    Looper.myQueue().addIdleHandler(Request.this);
+                }
+            });
+        }
+
+        /** Main thread idle: capture. */
+        @Override
+        public boolean queueIdle() {
+            synchronized (instance) {
+                if (pending != this) {
+                    return false;
+                }
+                pending = null;
+            }
+            SdkExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    capture(Request.this);
+                }
+            });
+            return false;
+        }
+    }
+
+    private ScreenshotScheduler() {
+    }
+
+    static void attach(Context context) {
+        appContext = context.getApplicationContext();
+    }
+
+    /**
+     * Enables or disables scheduling. The config holds optional <code>debounceMs</code> and
+     * <code>adaptiveQuality</code>; null disables scheduling, so screenshots are taken immediately.
+     */
+    static void configure(ReadableMap config) {
+        enabled = config != null;
+        if (config != null) {
+            debounceMillis = config.hasKey("debounceMs") ? config.getInt("debounceMs") : DEFAULT_DEBOUNCE_MILLIS;
+            adaptiveQuality = !config.hasKey("adaptiveQuality") || config.getBoolean("adaptiveQuality");
+            registerCallbacks();
+        }
+    }
+
+    /**
+     * @return true when the request was taken over by the scheduler, false when the screenshot should
+     * be sent immediately.
+     */
+    static boolean schedule(String screenName, int imageQuality, Callback callback, long start) {
+        if (!enabled) {
+            return false;
+        }
+        if (!CaMDOIntegration.isScreenshotPolicyEnabled() || CaMDOIntegration.isInPrivateZone()) {
+            ReactNativeAxaMobileSdkModule.invokeLocalResult(callback, "skipped");
+            return true;
+        }
+        Request request = new Request(screenName, imageQuality, callback, start);
+        Request replaced;
+        synchronized (instance) {
+            replaced = pending;
+            pending = request;
+        }
+        Handler handler = CallbackDispatcher.getHandler();
+        if (replaced != null) {
+            handler.removeCallbacks(replaced);
+            ReactNativeAxaMobileSdkModule.invokeLocalResult(replaced.callback, "coalesced");
+        }
+        handler.postDelayed(request, debounceMillis);
+        return true;
+    }
+
+    private static void capture(Request request) {
+        if (!CaMDOIntegration.isScreenshotPolicyEnabled() || CaMDOIntegration.isInPrivateZone()) {
+            ReactNativeAxaMobileSdkModule.invokeLocalResult(request.callback, "skipped");
+            return;
+        }
+        int quality = adaptiveQuality ? adaptQuality(request.imageQuality) : request.imageQuality;
+        CaMDOIntegration.sendScreenShot(request.screenName, quality,
+                CallbackDispatcher.wrap("sendScreenShot", request.callback, request.start));
+    }
+
+    private static int adaptQuality(int quality) {
+        int steps = pressureSteps();
+        if (steps == 0) {
+            return quality;
+        }
+        int[] qualities = {
+                CaMDOIntegration.CAMAA_SCREENSHOT_QUALITY_HIGH,
+                CaMDOIntegration.CAMAA_SCREENSHOT_QUALITY_MEDIUM,
+                CaMDOIntegration.CAMAA_SCREENSHOT_QUALITY_LOW
+        };
+        for (int i = 0; i < qualities.length; i++) {
+            if (qualities[i] == quality) {
+                return qualities[Math.min(qualities.length - 1, i + steps)];
+            }
+        }
+        return quality;
+    }
+
+    private static int pressureSteps() {
+        int steps = SystemClock.elapsedRealtime() - trimTime < PRESSURE_DECAY_MILLIS ? trimSteps : 0;
+        Runtime runtime = Runtime.getRuntime();
+        double heapUsed = (runtime.totalMemory() - runtime.freeMemory()) / (double) runtime.maxMemory();
+        if (heapUsed > HEAP_PRESSURE_RATIO) {
+            steps = Math.max(steps, 1);
+        }
+        return steps;
+    }
+
+    private static synchronized void registerCallbacks() {
+        Context context = appContext;
+        if (!callbacksRegistered && context != null) {
+            context.registerComponentCallbacks(instance);
+            callbacksRegistered = true;
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        int steps;
+        if (level >= TRIM_MEMORY_RUNNING_LOW && level < TRIM_MEMORY_UI_HIDDEN) {
+            steps = 2;
+        } else if (level >= TRIM_MEMORY_RUNNING_MODERATE && level < TRIM_MEMORY_UI_HIDDEN) {
+            steps = 1;
+        } else {
+            return;
+        }
+        trimSteps = steps;
+        trimTime = SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public void onLowMemory() {
+        trimSteps = 2;
+        trimTime = SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+}
@@ -0,0 +1,283 @@
+// SdkExecutor.java
+
+package com.ca.axa.react;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Dedicated thread running the SDK calls of the module, so that a slow SDK call does not hold the
+ * React Native native-modules thread shared by every native module.
+ * <p>
+ * Calls run one at a time, in submission order. Every SDK call that changes state or logs an event goes
+ * through here, from the module and from its helpers (transaction timeouts, metric aggregates, frame and
+ * bridge stats, view loads, screenshots, uploads, the journal replay and the network interceptor), so
+ * the SDK is not called concurrently and sees the calls in a defined order. Reads, e.g. the APM headers
+ * of {@link ApmHeaderCache} and the synchronous getters, and <code>setSSLPinningMode</code>, called before
+ * the React instance exists, run on the calling thread; so do all calls while the executor is disabled.
+ * <p>
+ * The queue is bounded for droppable calls (metrics and network events): when it holds the maximum, the
+ * oldest droppable call is dropped. Other calls, e.g. transactions and sessions, are never dropped. Queue
+ * depth and wait times are kept as stats. A call that throws is logged and the next one runs; should the
+ * thread end anyway, a new one takes the queue.
+ * <p>
+ * Synchronous getters read SDK state on the JS thread. Calls that change state read by a getter are
+ * submitted with {@link #executeWrite(int, Runnable)} and the kinds of state they write, and
+ * {@link #awaitWrites(int)} lets the getter wait for those only, when one is still queued: e.g.
+ * <code>setCustomerId(id)</code> followed by <code>getCustomerIdSync()</code> returns the new id,
+ * without waiting behind the metrics queued before.
+ */
+final class SdkExecutor {
+
+    private static final int DEFAULT_MAX_QUEUED = 500;
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000;
+
+    /** Kinds of state written by a call, for {@link #awaitWrites(int)}. */
+    static final int WRITES_SDK_STATE = 1;
+    static final int WRITES_PRIVATE_ZONE = 1 << 1;
+    static final int WRITES_CUSTOMER_ID = 1 << 2;
+    static final int WRITES_HEADERS = 1 << 3;
+    private static final int WRITE_KINDS = 4;
+
+    private static volatile boolean enabled = true;
+    private static volatile int maxQueued = DEFAULT_MAX_QUEUED;
+
+    /** Guarded by SdkExecutor.class. */
+    private static final ArrayDeque<Task> queue = new ArrayDeque<>();
+    private static int droppableQueued;
+    private static Thread worker;
+    private static long executed;
+    private static long dropped;
+    private static int maxDepth;
+    private static long totalWaitNanos;
+    private static long maxWaitNanos;
+    private static long submitted;
+    /** Sequence number of the last call submitted for each kind of write. */
+    private static final long[] lastWrites = new long[WRITE_KINDS];
+
+    /** Guards awaiting, for {@link #awaitWrites(int)}. */
+    private static final Object barrier = new Object();
+    /** Sequence number of the last call run; calls run in sequence order. */
+    private static volatile long completed;
+    private static int awaiting;
+
+    private static final class Task {
+        final Runnable runnable;
+        final Runnable onDropped;
+        final boolean droppable;
+        final long enqueued = System.nanoTime();
+        int writes;
+        long sequence;
+
+        Task(Runnable runnable, Runnable onDropped, boolean droppable) {
+            this.runnable = runnable;
+            this.onDropped = onDropped;
+            this.droppable = droppable;
+        }
+    }
+
+    private static final Runnable workerLoop = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                loop();
+            } finally {
+                // interrupted, or failed outside of a call: hand the queue to a new worker
+                synchronized (SdkExecutor.class) {
+                    if (worker == Thread.currentThread()) {
+                        worker = null;
+                        if (!queue.isEmpty()) {
+                            startWorker();
+                        }
+                    }
+                }
+            }
+        }
+
+        private void loop() {
+            while (true) {
+                Task task;
+                synchronized (SdkExecutor.class) {
+                    while (queue.isEmpty()) {
+                        try {
+                            SdkExecutor.class.wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                    task = queue.pollFirst();
+                    if (task.droppable) {
+                        droppableQueued--;
+                    }
+                    long wait = System.nanoTime() - task.enqueued;
+                    totalWaitNanos += wait;
+                    maxWaitNanos = Math.max(maxWaitNanos, wait);
+                    executed++;
+                }
+                try {
+                    task.runnable.run();
+                } catch (Throwable e) {
+                    // errors too: the worker must keep draining the queue
+                    AxaLog.e("Error in SDK call {}", e);
+                }
+                onFinished(task);
+            }
+        }
+    };
+
+    private SdkExecutor() {
+    }
+
+    /**
+     * Configures the executor. The config holds an optional <code>maxQueued</code>, the maximum number
+     * of queued droppable calls; null runs the SDK calls on the calling thread again.
+     */
+    static void configure(ReadableMap config) {
+        if (config != null) {
+            maxQueued = Math.max(1, config.hasKey("maxQueued") ? config.getInt("maxQueued") : DEFAULT_MAX_QUEUED);
+        }
+        enabled = config != null;
+    }
+
+    /**
+     * Runs a call that must not be dropped, e.g. on transactions or sessions.
+     */
+    static void execute(Runnable runnable) {
+        submit(new Task(runnable, null, false));
+    }
+
+    /**
+     * Runs a call that may be dropped when the queue is full, e.g. a metric.
+     *
+     * @param onDropped run on the submitting thread when the call is dropped, may be null.
+     */
+    static void executeDroppable(Runnable runnable, Runnable onDropped) {
+        submit(new Task(runnable, onDropped, true));
+    }
+
+    /**
+     * Runs a call that must not be dropped and changes state read by synchronous getters.
+     *
+     * @param writes the kinds of state written, e.g. {@link #WRITES_CUSTOMER_ID} | {@link #WRITES_HEADERS}.
+     */
+    static void executeWrite(int writes, Runnable runnable) {
+        Task task = new Task(runnable, null, false);
+        task.writes = writes;
+        submit(task);
+    }
+
+    /**
+     * Waits until the calls submitted so far that write one of the given kinds of state have run, for
+     * at most {@value #AWAIT_TIMEOUT_MILLIS} ms. Returns at once when none is queued, and on the executor
+     * thread.
+     */
+    static void awaitWrites(int writes) {
+        long target = 0;
+        synchronized (SdkExecutor.class) {
+            if (Thread.currentThread() == worker) {
+                return;
+            }
+            for (int kind = 0; kind < WRITE_KINDS; kind++) {
+                if ((writes & (1 << kind)) != 0) {
+                    target = Math.max(target, lastWrites[kind]);
+                }
+            }
+        }
+        if (completed >= target) {
+            return;
+        }
+        synchronized (barrier) {
+            awaiting++;
+            try {
+                long deadline = System.nanoTime() + AWAIT_TIMEOUT_MILLIS * 1000000;
+                while (completed < target) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        AxaLog.w("@ SdkExecutor: queued calls still pending after {} ms", AWAIT_TIMEOUT_MILLIS);
+                        return;
+                    }
+                    barrier.wait(remaining / 1000000 + 1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                awaiting--;
+            }
+        }
+    }
+
+    /**
+     * @return queue depth, wait times in milliseconds and call counts.
+     */
+    static synchronized WritableMap toWritableMap() {
+        WritableMap result = Arguments.createMap();
+        result.putBoolean("enabled", enabled);
+        result.putInt("queueDepth", queue.size());
+        result.putInt("maxQueueDepth", maxDepth);
+        result.putDouble("executed", executed);
+        result.putDouble("dropped", dropped);
+        result.putDouble("averageWaitMs", executed == 0 ? 0 : totalWaitNanos / 1e6 / executed);
+        result.putDouble("maxWaitMs", maxWaitNanos / 1e6);
+        return result;
+    }
+
+    private static void onFinished(Task task) {
+        synchronized (barrier) {
+            completed = task.sequence;
+            if (awaiting > 0) {
+                barrier.notifyAll();
+            }
+        }
+    }
+
+    /** Called with the class lock held. */
+    private static void startWorker() {
+        worker = new Thread(workerLoop, "AxaSdkExecutor");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private static void submit(Task task) {
+        if (!enabled) {
+            task.runnable.run();
+            return;
+        }
+        Task evicted = null;
+        synchronized (SdkExecutor.class) {
+            if (task.droppable && droppableQueued >= maxQueued) {
+                for (Iterator<Task> iterator = queue.iterator(); iterator.hasNext(); ) {
+                    Task queued = iterator.next();
+                    if (queued.droppable) {
+                        iterator.remove();
+                        droppableQueued--;
+                        dropped++;
+                        evicted = queued;
+                        break;
+                    }
+                }
+            }
+            queue.addLast(task);
+            task.sequence = ++submitted;
+            for (int kind = 0; kind < WRITE_KINDS; kind++) {
+                if ((task.writes & (1 << kind)) != 0) {
+                    lastWrites[kind] = task.sequence;
+                }
+            }
+            if (task.droppable) {
+                droppableQueued++;
+            }
+            maxDepth = Math.max(maxDepth, queue.size());
+            if (worker == null) {
+                startWorker();
+            }
+            SdkExecutor.class.notify();
+        }
+        if (evicted != null && evicted.onDropped != null) {
+            evicted.onDropped.run();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+// SessionAttributeCache.java
+
+package com.ca.axa.react;
+
+import com.facebook.react.bridge.LifecycleEventListener;
+import com.facebook.react.bridge.ReactApplicationContext;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last values of the session attributes set in the current session, to suppress writes that would
+ * not change anything.
+ * <p>
+ * The cache is cleared whenever the session ends or restarts, and when the SDK is enabled again,
+ * so the first write of an attribute in a session always reaches the SDK. The SDK also starts new
+ * sessions on its own, after a background or inactivity timeout, without telling: the cache is
+ * therefore also cleared when the app comes back to the foreground, and when {@link ApmHeaderCache}
+ * finds that the SDK changed the APM headers, which carry the session id.
+ */
+final class SessionAttributeCache implements LifecycleEventListener {
+
+    private static final SessionAttributeCache instance = new SessionAttributeCache();
+
+    private static final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    /** The context the lifecycle listener is registered on, guarded by SessionAttributeCache.class. */
+    private static ReactApplicationContext lifecycleContext;
+
+    private SessionAttributeCache() {
+    }
+
+    /**
+     * Listens to the lifecycle of the React context, again after each reload.
+     */
+    static synchronized void attach(ReactApplicationContext context) {
+        if (context == null || context == lifecycleContext) {
+            return;
+        }
+        if (lifecycleContext != null) {
+            lifecycleContext.removeLifecycleEventListener(instance);
+        }
+        context.addLifecycleEventListener(instance);
+        lifecycleContext = context;
+    }
+
+    /**
+     * Records the value of an attribute.
+     *
+     * @return true when the value changed and should be written, false when it is the current value.
+     */
+    static boolean update(String name, String value) {
+        if (name == null) {
+            return true;
+        }
+        // reads the headers again once they expired, to notice a session the SDK started on its own
+        ApmHeaderCache.getHeaders();
+        if (value == null) {
+            values.remove(name);
+            return true;
+        }
+        return !value.equals(values.put(name, value));
+    }
+
+    static void reset() {
+        values.clear();
+    }
+
+    @Override
+    public void onHostResume() {
+        reset();
+    }
+
+    @Override
+    public void onHostPause() {
+    }
+
+    @Override
+    public void onHostDestroy() {
+    }
+}
@@ -0,0 +1,115 @@
+// StartupTrace.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.Process;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+/**
+ * Traces what the module adds to cold start, and defers its warm-up until after the first frame.
+ * <p>
+ * Module creation and the constants lookup run on the startup path and are timed. The warm-up, which
+ * starts the dispatcher thread and loads the SDK state used by the first calls, runs on the dispatcher
+ * thread once the main thread is idle after the first frame.
+ */
+final class StartupTrace {
+
+    private static volatile long moduleInitNanos = -1;
+    private static volatile long constantsNanos = -1;
+    private static volatile long warmUpNanos = -1;
+    private static volatile long moduleCreatedAtMillis = -1;
+    private static volatile long firstFrameAtMillis = -1;
+    private static boolean warmUpScheduled;
+
+    private static final Runnable warmUpTask = new Runnable() {
+        @Override
+        public void run() {
+            long start = SystemClock.elapsedRealtimeNanos();
+            CaMDOIntegration.isSDKEnabled();
+            ApmHeaderCache.getHeaders();
+            warmUpNanos = SystemClock.elapsedRealtimeNanos() - start;
+            AxaLog.d("@ StartupTrace warm-up took {} ms", warmUpNanos / 1e6);
+        }
+    };
+
+    private StartupTrace() {
+    }
+
+    static long begin() {
+        return SystemClock.elapsedRealtimeNanos();
+    }
+
+    static void moduleCreated(long start) {
+        long now = SystemClock.elapsedRealtimeNanos();
+        moduleInitNanos = now - start;
+        moduleCreatedAtMillis = sinceProcessStart(now);
+        AxaLog.d("@ StartupTrace module created in {} ms", moduleInitNanos / 1e6);
+        scheduleWarmUp();
+    }
+
+    static void constantsResolved(long start) {
+        constantsNanos = SystemClock.elapsedRealtimeNanos() - start;
+    }
+
+    /**
+     * @return the trace, in milliseconds. Values not measured yet are -1.
+     */
+    static WritableMap toWritableMap() {
+        WritableMap result = Arguments.createMap();
+        long init = moduleInitNanos;
+        long constants = constantsNanos;
+        result.putDouble("moduleInitMs", init < 0 ? -1 : init / 1e6);
+        result.putDouble("constantsMs", constants < 0 ? -1 : constants / 1e6);
+        result.putDouble("startupCostMs", (Math.max(0, init) + Math.max(0, constants)) / 1e6);
+        long warmUp = warmUpNanos;
+        result.putDouble("warmUpMs", warmUp < 0 ? -1 : warmUp / 1e6);
+        result.putDouble("moduleCreatedAtMs", moduleCreatedAtMillis);
+        result.putDouble("firstFrameAtMs", firstFrameAtMillis);
+        return result;
+    }
+
+    private static synchronized void scheduleWarmUp() {
+        if (warmUpScheduled) {
+            return;
+        }
+        warmUpScheduled = true;
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+                    @Override
+                    public void doFrame(long frameTimeNanos) {
+                        firstFrameAtMillis = sinceProcessStart(SystemClock.elapsedRealtimeNanos());
+                        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+                            @Override
+                            public boolean queueIdle() {
+                                CallbackDispatcher.getHandler().post(warmUpTask);
+                                return false;
+                            }
+                        });
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @return the time since the process started, or -1 when it is not known (before API 24).
+     */
+    private static long sinceProcessStart(long elapsedRealtimeNanos) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
+            return -1;
+        }
+        return elapsedRealtimeNanos / 1000000 - Process.getStartElapsedRealtime();
+    }
+}
@@ -0,0 +1,243 @@
+// TransactionTracker.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+import com.ca.integration.CaMDOCallback;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import android.os.Bundle;
+import android.os.SystemClock;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Native bookkeeping of open application transactions and their child spans.
+ * <p>
+ * Start and stop times are taken from {@link SystemClock#elapsedRealtimeNanos()} by the module when the
+ * call reaches native code, before it is queued for the SDK, so they do not include the queue wait.
+ * A transaction whose start the SDK reports as failed is no longer tracked, and its spans are discarded.
+ * Stopped spans are logged as the {@link #METRIC_SPAN_DURATION} numeric metric. When a timeout is set,
+ * transactions still open after it are stopped with a failure on the {@link SdkExecutor}, so that a
+ * forgotten stop does not leave a transaction open for the rest of the session.
+ */
+final class TransactionTracker {
+
+    static final String METRIC_SPAN_DURATION = "axa.span.durationMs";
+    static final String TIMEOUT_FAILURE = "Transaction timed out";
+
+    private static final ConcurrentHashMap<String, Transaction> open = new ConcurrentHashMap<>();
+    private static volatile long timeoutMillis;
+
+    private static final class Span {
+        final long startNanos;
+
+        Span(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+
+    private static final class Transaction implements Runnable {
+        final String name;
+        final String serviceName;
+        final long startNanos;
+        /** Guarded by this. */
+        final Map<String, Span> spans = new LinkedHashMap<>();
+
+        Transaction(String name, String serviceName, long startNanos) {
+            this.name = name;
+            this.serviceName = serviceName;
+            this.startNanos = startNanos;
+        }
+
+        /** Timeout elapsed: stop on the SDK executor, in order with the calls of the module. */
+        @Override
+        public void run() {
+            final long stopNanos = SystemClock.elapsedRealtimeNanos();
+            SdkExecutor.executeWrite(SdkExecutor.WRITES_HEADERS, new Runnable() {
+                @Override
+                public void run() {
+                    if (open.remove(name, Transaction.this)) {
+                        AxaLog.w("@ transaction timed out: {}", name);
+                        stopSpans(Transaction.this, TIMEOUT_FAILURE, stopNanos);
+                        CaMDOIntegration.stopApplicationTransaction(name, TIMEOUT_FAILURE, null);
+                        ApmHeaderCache.invalidate();
+                    }
+                }
+            });
+        }
+    }
+
+    /** Stops tracking a transaction whose start failed in the SDK. */
+    private static final class StartCallback extends CaMDOCallback {
+
+        private final Transaction transaction;
+        private final CaMDOCallback delegate;
+
+        StartCallback(Transaction transaction, CaMDOCallback delegate) {
+            super(CallbackDispatcher.getHandler());
+            this.transaction = transaction;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onError(int errorCode, Exception exception) {
+            if (open.remove(transaction.name, transaction)) {
+                AxaLog.d("@ transaction not started: {}", transaction.name);
+                CallbackDispatcher.getHandler().removeCallbacks(transaction);
+                synchronized (transaction) {
+                    transaction.spans.clear();
+                }
+            }
+            if (delegate != null) {
+                delegate.onError(errorCode, exception);
+            }
+        }
+
+        @Override
+        public void onSuccess(Bundle data) {
+            if (delegate != null) {
+                delegate.onSuccess(data);
+            }
+        }
+    }
+
+    private TransactionTracker() {
+    }
+
+    /**
+     * @param seconds time after which open transactions are stopped with a failure, 0 to never stop them.
+     */
+    static void setTimeout(int seconds) {
+        timeoutMillis = Math.max(0, seconds) * 1000L;
+    }
+
+    /**
+     * Tracks a transaction being started, until the SDK reports an error for its start.
+     *
+     * @param startNanos {@link SystemClock#elapsedRealtimeNanos()} when the start reached native code.
+     * @param delegate   the SDK callback of the start, may be null.
+     * @return the SDK callback to pass to the start instead.
+     */
+    static CaMDOCallback onStart(String name, String serviceName, long startNanos, CaMDOCallback delegate) {
+        if (name == null) {
+            return delegate;
+        }
+        Transaction transaction = new Transaction(name, serviceName, startNanos);
+        Transaction previous = open.put(name, transaction);
+        if (previous != null) {
+            CallbackDispatcher.getHandler().removeCallbacks(previous);
+        }
+        long timeout = timeoutMillis;
+        if (timeout > 0) {
+            CallbackDispatcher.getHandler().postDelayed(transaction, timeout);
+        }
+        return new StartCallback(transaction, delegate);
+    }
+
+    /**
+     * @param stopNanos {@link SystemClock#elapsedRealtimeNanos()} when the stop reached native code.
+     */
+    static void onStop(String name, String failure, long stopNanos) {
+        if (name == null) {
+            return;
+        }
+        Transaction transaction = open.remove(name);
+        if (transaction != null) {
+            CallbackDispatcher.getHandler().removeCallbacks(transaction);
+            stopSpans(transaction, failure, stopNanos);
+        }
+    }
+
+    /**
+     * @param startNanos {@link SystemClock#elapsedRealtimeNanos()} when the start reached native code.
+     * @return false when the transaction is not open.
+     */
+    static boolean startSpan(String transactionName, String spanName, long startNanos) {
+        Transaction transaction = transactionName == null ? null : open.get(transactionName);
+        if (transaction == null || spanName == null) {
+            return false;
+        }
+        synchronized (transaction) {
+            transaction.spans.put(spanName, new Span(startNanos));
+        }
+        return true;
+    }
+
+    /**
+     * @param stopNanos {@link SystemClock#elapsedRealtimeNanos()} when the stop reached native code.
+     * @return false when the span is not open.
+     */
+    static boolean stopSpan(String transactionName, String spanName, String failure, long stopNanos) {
+        Transaction transaction = transactionName == null ? null : open.get(transactionName);
+        if (transaction == null) {
+            return false;
+        }
+        Span span;
+        synchronized (transaction) {
+            span = transaction.spans.remove(spanName);
+        }
+        if (span == null) {
+            return false;
+        }
+        logSpan(transaction, spanName, span, stopNanos, failure);
+        return true;
+    }
+
+    /**
+     * @return the open transactions and their open spans, with start times and ages in milliseconds.
+     */
+    static WritableArray toWritableArray() {
+        long now = SystemClock.elapsedRealtimeNanos();
+        WritableArray result = Arguments.createArray();
+        for (Transaction transaction : open.values()) {
+            WritableMap entry = Arguments.createMap();
+            entry.putString("name", transaction.name);
+            entry.putString("serviceName", transaction.serviceName);
+            entry.putDouble("startedAtMs", transaction.startNanos / 1e6);
+            entry.putDouble("ageMs", (now - transaction.startNanos) / 1e6);
+            WritableArray spans = Arguments.createArray();
+            synchronized (transaction) {
+                for (Map.Entry<String, Span> span : transaction.spans.entrySet()) {
+                    WritableMap spanEntry = Arguments.createMap();
+                    spanEntry.putString("name", span.getKey());
+                    spanEntry.putDouble("startOffsetMs", (span.getValue().startNanos - transaction.startNanos) / 1e6);
+                    spanEntry.putDouble("ageMs", (now - span.getValue().startNanos) / 1e6);
+                    spans.pushMap(spanEntry);
+                }
+            }
+            entry.putArray("spans", spans);
+            result.pushMap(entry);
+        }
+        return result;
+    }
+
+    private static void stopSpans(Transaction transaction, String failure, long stopNanos) {
+        Map<String, Span> spans;
+        synchronized (transaction) {
+            spans = new LinkedHashMap<>(transaction.spans);
+            transaction.spans.clear();
+        }
+        for (Map.Entry<String, Span> span : spans.entrySet()) {
+            logSpan(transaction, span.getKey(), span.getValue(), stopNanos, failure);
+        }
+    }
+
+    private static void logSpan(Transaction transaction, String spanName, Span span, long stopNanos, String failure) {
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("transaction", transaction.name);
+        attributes.put("span", spanName);
+        attributes.put("startOffsetMs", Long.toString((span.startNanos - transaction.startNanos) / 1000000));
+        attributes.put("stopOffsetMs", Long.toString((stopNanos - transaction.startNanos) / 1000000));
+        if (failure != null && failure.trim().length() > 0) {
+            attributes.put("failure", failure);
+        }
+        CaMDOIntegration.logNumericMetric(METRIC_SPAN_DURATION, (stopNanos - span.startNanos) / 1e6, attributes, null);
+    }
+}
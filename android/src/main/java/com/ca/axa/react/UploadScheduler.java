@@ -0,0 +1,266 @@
+// UploadScheduler.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+import com.ca.integration.CaMDOCallback;
+
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.LifecycleEventListener;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableMap;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.os.Bundle;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-flight uploads, and the optional adaptive upload schedule.
+ * <p>
+ * Concurrent upload requests join the upload in flight, and every waiting callback completes with its
+ * result. When the adaptive schedule is enabled, the events forwarded to the SDK are counted, and an
+ * upload is started when the app goes to the background, or on a periodic check once enough events are
+ * queued or the maximum interval elapsed. Nothing is uploaded while offline.
+ * <p>
+ * The schedule only adds uploads to those the SDK makes on its own policy; it cannot delay or suppress
+ * them. It lets events reach the server sooner in batches, e.g. before the app is killed in the
+ * background, without an upload per event.
+ */
+final class UploadScheduler implements LifecycleEventListener {
+
+    private static final long UPLOAD_TIMEOUT_MILLIS = 60000;
+    private static final int DEFAULT_MIN_INTERVAL_SECONDS = 30;
+    private static final int DEFAULT_MAX_INTERVAL_SECONDS = 300;
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    private static final UploadScheduler instance = new UploadScheduler();
+
+    private static volatile ReactApplicationContext reactContext;
+    /** The context the lifecycle listener is registered on, guarded by UploadScheduler.class. */
+    private static ReactApplicationContext lifecycleContext;
+
+    private static final AtomicInteger queued = new AtomicInteger();
+    private static volatile Config config;
+    private static volatile long lastUploadTime;
+
+    /** Guarded by instance. */
+    private static List<Waiter> waiters = new ArrayList<>();
+    private static UploadCallback inFlight;
+
+    private static final class Config {
+        final long minIntervalMillis;
+        final long maxIntervalMillis;
+        final int batchSize;
+
+        Config(ReadableMap map) {
+            minIntervalMillis = Math.max(1, map.hasKey("minIntervalSeconds")
+                    ? map.getInt("minIntervalSeconds") : DEFAULT_MIN_INTERVAL_SECONDS) * 1000L;
+            maxIntervalMillis = Math.max(minIntervalMillis, (map.hasKey("maxIntervalSeconds")
+                    ? map.getInt("maxIntervalSeconds") : DEFAULT_MAX_INTERVAL_SECONDS) * 1000L);
+            batchSize = Math.max(1, map.hasKey("batchSize") ? map.getInt("batchSize") : DEFAULT_BATCH_SIZE);
+        }
+    }
+
+    private static final class Waiter {
+        final Callback callback;
+        final long start;
+
+        Waiter(Callback callback, long start) {
+            this.callback = callback;
+            this.start = start;
+        }
+    }
+
+    private static final class UploadCallback extends CaMDOCallback implements Runnable {
+
+        UploadCallback() {
+            super(CallbackDispatcher.getHandler());
+        }
+
+        @Override
+        public void onError(int errorCode, Exception exception) {
+            for (Waiter waiter : complete(this)) {
+                if (waiter.callback instanceof ResultStream.StreamingCallback) {
+                    ((ResultStream.StreamingCallback) waiter.callback).onError(errorCode, exception);
+                    continue;
+                }
+                BridgeStats.recordCallback("uploadEvents", waiter.start, true);
+                waiter.callback.invoke(ReactNativeAxaMobileSdkModule.getErrorResult(errorCode, exception));
+            }
+        }
+
+        @Override
+        public void onSuccess(Bundle data) {
+            for (Waiter waiter : complete(this)) {
+                if (waiter.callback instanceof ResultStream.StreamingCallback) {
+                    ((ResultStream.StreamingCallback) waiter.callback).onSuccess(data);
+                    continue;
+                }
+                BridgeStats.recordCallback("uploadEvents", waiter.start, false);
+                waiter.callback.invoke(ReactNativeAxaMobileSdkModule.getBundleResult(data));
+            }
+        }
+
+        /** Upload timed out without a result: let the next request start a new upload. */
+        @Override
+        public void run() {
+            onError(-1, new IllegalStateException("uploadEvents timed out"));
+        }
+    }
+
+    private static final Runnable uploadCall = new Runnable() {
+        @Override
+        public void run() {
+            upload(null, BridgeStats.start());
+        }
+    };
+
+    private static final Runnable checkTask = new Runnable() {
+        @Override
+        public void run() {
+            Config current = config;
+            if (current == null) {
+                return;
+            }
+            if (shouldUpload(current)) {
+                SdkExecutor.execute(uploadCall);
+            }
+            CallbackDispatcher.getHandler().postDelayed(this, current.minIntervalMillis);
+        }
+    };
+
+    private UploadScheduler() {
+    }
+
+    /**
+     * Sets the React context. After a reload, the lifecycle listener moves to the new context when the
+     * adaptive schedule is enabled.
+     */
+    static void attach(ReactApplicationContext context) {
+        reactContext = context;
+        if (config != null) {
+            registerLifecycle();
+        }
+    }
+
+    /**
+     * Uploads the queued events, or joins the upload in flight. Called on the {@link SdkExecutor}.
+     *
+     * @param callback JS callback, or {@link ResultStream.StreamingCallback}, completed with the result of
+     *                 the upload, may be null.
+     * @param start    timestamp returned by {@link BridgeStats#start()}
+     */
+    static void upload(Callback callback, long start) {
+        UploadCallback started;
+        synchronized (instance) {
+            if (callback != null) {
+                waiters.add(new Waiter(callback, start));
+            }
+            if (inFlight != null) {
+                AxaLog.d("@ uploadEvents joined the upload in flight");
+                return;
+            }
+            started = new UploadCallback();
+            inFlight = started;
+        }
+        queued.set(0);
+        lastUploadTime = SystemClock.elapsedRealtime();
+        CallbackDispatcher.getHandler().postDelayed(started, UPLOAD_TIMEOUT_MILLIS);
+        CaMDOIntegration.uploadEvents(started);
+    }
+
+    /**
+     * Counts events forwarded to the SDK, for the adaptive schedule.
+     */
+    static void onEventsQueued(int count) {
+        if (config != null) {
+            queued.addAndGet(count);
+        }
+    }
+
+    /**
+     * Enables or disables the adaptive schedule. The config holds optional <code>minIntervalSeconds</code>,
+     * <code>maxIntervalSeconds</code> and <code>batchSize</code>; null disables it.
+     */
+    static void configure(ReadableMap map) {
+        CallbackDispatcher.getHandler().removeCallbacks(checkTask);
+        if (map == null) {
+            config = null;
+            return;
+        }
+        Config current = new Config(map);
+        config = current;
+        lastUploadTime = SystemClock.elapsedRealtime();
+        registerLifecycle();
+        CallbackDispatcher.getHandler().postDelayed(checkTask, current.minIntervalMillis);
+    }
+
+    private static List<Waiter> complete(UploadCallback callback) {
+        List<Waiter> completed;
+        synchronized (instance) {
+            if (inFlight != callback) {
+                return new ArrayList<>();
+            }
+            inFlight = null;
+            completed = waiters;
+            waiters = new ArrayList<>();
+        }
+        CallbackDispatcher.getHandler().removeCallbacks(callback);
+        return completed;
+    }
+
+    private static boolean shouldUpload(Config current) {
+        int count = queued.get();
+        if (count == 0) {
+            return false;
+        }
+        if (count < current.batchSize
+                && SystemClock.elapsedRealtime() - lastUploadTime < current.maxIntervalMillis) {
+            return false;
+        }
+        Context context = reactContext;
+        NetworkInfo network = null;
+        if (context != null) {
+            try {
+                ConnectivityManager connectivity = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+                network = connectivity.getActiveNetworkInfo();
+            } catch (RuntimeException e) {
+                AxaLog.d("@ UploadScheduler network state unavailable {}", e);
+            }
+        }
+        return network != null && network.isConnected();
+    }
+
+    private static synchronized void registerLifecycle() {
+        ReactApplicationContext context = reactContext;
+        if (context == null || context == lifecycleContext) {
+            return;
+        }
+        if (lifecycleContext != null) {
+            lifecycleContext.removeLifecycleEventListener(instance);
+        }
+        context.addLifecycleEventListener(instance);
+        lifecycleContext = context;
+    }
+
+    @Override
+    public void onHostPause() {
+        if (config != null && queued.get() > 0) {
+            SdkExecutor.execute(uploadCall);
+        }
+    }
+
+    @Override
+    public void onHostResume() {
+    }
+
+    @Override
+    public void onHostDestroy() {
+    }
+}
@@ -0,0 +1,224 @@
+// UrlNormalizer.java
+
+package com.ca.axa.react;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes the URLs of network events, to bound the number of distinct endpoints.
+ * <p>
+ * A URL matching one of the configured templates, e.g. <code>/orders/{id}/items/{item}</code>, is
+ * reduced to the template. Otherwise numeric, UUID and hash path segments are collapsed to
+ * <code>{id}</code>, <code>{uuid}</code> and <code>{hash}</code>. Configured query parameters are
+ * stripped. Results are kept in an LRU cache, and endpoints beyond the configured maximum are
+ * reported as <code>{other}</code> on their host.
+ */
+final class UrlNormalizer {
+
+    static final String OTHER = "/{other}";
+
+    private static final int DEFAULT_CACHE_SIZE = 512;
+    private static final int DEFAULT_MAX_ENDPOINTS = 200;
+
+    private static final Pattern NUMERIC = Pattern.compile("\\d+");
+    private static final Pattern UUID = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern HASH = Pattern.compile("[0-9a-fA-F]{16,}");
+    private static final Pattern TEMPLATE_VARIABLE = Pattern.compile("\\{[^/}]*\\}");
+
+    private static volatile Config config;
+
+    private static final class Config {
+        final Pattern[] templatePatterns;
+        final String[] templates;
+        final boolean stripAllQueryParams;
+        final Set<String> strippedQueryParams;
+        final int maxEndpoints;
+        final Set<String> endpoints = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        final Map<String, String> cache;
+
+        Config(String[] templates, boolean stripAllQueryParams, Set<String> strippedQueryParams,
+               int maxEndpoints, final int cacheSize) {
+            this.templates = templates;
+            this.templatePatterns = new Pattern[templates.length];
+            for (int i = 0; i < templates.length; i++) {
+                templatePatterns[i] = compileTemplate(templates[i]);
+            }
+            this.stripAllQueryParams = stripAllQueryParams;
+            this.strippedQueryParams = strippedQueryParams;
+            this.maxEndpoints = maxEndpoints;
+            this.cache = new LinkedHashMap<String, String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+        }
+    }
+
+    private UrlNormalizer() {
+    }
+
+    /**
+     * Configures normalization. The config holds optional <code>templates</code> (path templates where
+     * <code>{name}</code> matches one segment), <code>stripQueryParams</code> (an array of parameter
+     * names, or true for the whole query), <code>maxEndpoints</code> and <code>cacheSize</code>.
+     * A null config disables normalization.
+     */
+    static void configure(ReadableMap map) {
+        if (map == null) {
+            config = null;
+            return;
+        }
+        String[] templates = new String[0];
+        if (map.hasKey("templates") && map.getType("templates") == ReadableType.Array) {
+            ReadableArray array = map.getArray("templates");
+            templates = new String[array.size()];
+            for (int i = 0; i < array.size(); i++) {
+                templates[i] = array.getString(i);
+            }
+        }
+        boolean stripAll = false;
+        Set<String> stripped = new HashSet<>();
+        if (map.hasKey("stripQueryParams")) {
+            if (map.getType("stripQueryParams") == ReadableType.Boolean) {
+                stripAll = map.getBoolean("stripQueryParams");
+            } else if (map.getType("stripQueryParams") == ReadableType.Array) {
+                ReadableArray array = map.getArray("stripQueryParams");
+                for (int i = 0; i < array.size(); i++) {
+                    stripped.add(array.getString(i));
+                }
+            }
+        }
+        int maxEndpoints = map.hasKey("maxEndpoints") ? map.getInt("maxEndpoints") : DEFAULT_MAX_ENDPOINTS;
+        int cacheSize = map.hasKey("cacheSize") ? map.getInt("cacheSize") : DEFAULT_CACHE_SIZE;
+        config = new Config(templates, stripAll, stripped, maxEndpoints, cacheSize);
+    }
+
+    /**
+     * @return the normalized URL, or the URL itself when normalization is not configured.
+     */
+    static String normalize(String url) {
+        Config current = config;
+        if (current == null || url == null) {
+            return url;
+        }
+        String normalized;
+        synchronized (current.cache) {
+            normalized = current.cache.get(url);
+        }
+        if (normalized != null) {
+            return normalized;
+        }
+        normalized = normalize(current, url);
+        synchronized (current.cache) {
+            current.cache.put(url, normalized);
+        }
+        return normalized;
+    }
+
+    private static String normalize(Config current, String url) {
+        int fragment = url.indexOf('#');
+        String base = fragment >= 0 ? url.substring(0, fragment) : url;
+        int queryStart = base.indexOf('?');
+        String query = queryStart >= 0 ? base.substring(queryStart + 1) : null;
+        String withoutQuery = queryStart >= 0 ? base.substring(0, queryStart) : base;
+
+        int scheme = withoutQuery.indexOf("://");
+        int pathStart = withoutQuery.indexOf('/', scheme >= 0 ? scheme + 3 : 0);
+        String origin = pathStart >= 0 ? withoutQuery.substring(0, pathStart) : withoutQuery;
+        String path = pathStart >= 0 ? withoutQuery.substring(pathStart) : "";
+
+        String normalizedPath = null;
+        for (int i = 0; i < current.templatePatterns.length; i++) {
+            if (current.templatePatterns[i].matcher(path).matches()) {
+                normalizedPath = current.templates[i];
+                break;
+            }
+        }
+        if (normalizedPath == null) {
+            normalizedPath = collapseSegments(path);
+        }
+
+        String endpoint = origin + normalizedPath;
+        if (!current.endpoints.contains(endpoint)) {
+            if (current.endpoints.size() >= current.maxEndpoints) {
+                return origin + OTHER;
+            }
+            current.endpoints.add(endpoint);
+        }
+        String normalizedQuery = stripQuery(current, query);
+        return normalizedQuery == null || normalizedQuery.isEmpty() ? endpoint : endpoint + '?' + normalizedQuery;
+    }
+
+    private static String collapseSegments(String path) {
+        if (path.isEmpty()) {
+            return path;
+        }
+        StringBuilder builder = new StringBuilder(path.length());
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start + 1);
+            if (end < 0) {
+                end = path.length();
+            }
+            String segment = path.substring(start + 1, end);
+            builder.append('/');
+            if (NUMERIC.matcher(segment).matches()) {
+                builder.append("{id}");
+            } else if (UUID.matcher(segment).matches()) {
+                builder.append("{uuid}");
+            } else if (HASH.matcher(segment).matches()) {
+                builder.append("{hash}");
+            } else {
+                builder.append(segment);
+            }
+            start = end;
+        }
+        return builder.toString();
+    }
+
+    private static String stripQuery(Config current, String query) {
+        if (query == null || current.stripAllQueryParams) {
+            return null;
+        }
+        if (current.strippedQueryParams.isEmpty()) {
+            return query;
+        }
+        StringBuilder builder = new StringBuilder(query.length());
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            String name = equals >= 0 ? parameter.substring(0, equals) : parameter;
+            if (!current.strippedQueryParams.contains(name)) {
+                if (builder.length() > 0) {
+                    builder.append('&');
+                }
+                builder.append(parameter);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static Pattern compileTemplate(String template) {
+        StringBuilder regex = new StringBuilder();
+        Matcher matcher = TEMPLATE_VARIABLE.matcher(template);
+        int start = 0;
+        while (matcher.find()) {
+            regex.append(Pattern.quote(template.substring(start, matcher.start()))).append("[^/]+");
+            start = matcher.end();
+        }
+        regex.append(Pattern.quote(template.substring(start)));
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,135 @@
+// ViewIgnoreMatcher.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Matches view names against the ignored view patterns.
+ * <p>
+ * Exact names are kept in a hash set and handed to the SDK at once. Patterns ending with a single
+ * <code>*</code> are prefixes, kept in a trie; other patterns with <code>*</code> are wildcards.
+ * The verdict for each view name is cached, so repeated checks are a single lookup, and a name first
+ * matched by a prefix or wildcard is passed to {@link CaMDOIntegration#ignoreView(String)}.
+ */
+final class ViewIgnoreMatcher {
+
+    private static final int MAX_CACHED_NAMES = 1024;
+
+    private static final Set<String> exact = new HashSet<>();
+    private static final Node prefixes = new Node();
+    private static final List<Pattern> wildcards = new ArrayList<>();
+    private static final ConcurrentHashMap<String, Boolean> verdicts = new ConcurrentHashMap<>();
+    private static volatile boolean hasPatterns;
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        boolean terminal;
+    }
+
+    private ViewIgnoreMatcher() {
+    }
+
+    /**
+     * Adds ignored view names and patterns, and registers the exact names with the SDK.
+     *
+     * @return the number of patterns added.
+     */
+    static int add(ReadableArray patterns) {
+        HashSet<String> names = new HashSet<>();
+        int added = 0;
+        synchronized (ViewIgnoreMatcher.class) {
+            for (int i = 0; patterns != null && i < patterns.size(); i++) {
+                if (patterns.getType(i) != ReadableType.String) {
+                    continue;
+                }
+                String pattern = patterns.getString(i);
+                int star = pattern.indexOf('*');
+                if (star < 0) {
+                    exact.add(pattern);
+                    names.add(pattern);
+                } else if (star == pattern.length() - 1) {
+                    addPrefix(pattern.substring(0, star));
+                    hasPatterns = true;
+                } else {
+                    wildcards.add(EventGovernor.compileGlob(pattern));
+                    hasPatterns = true;
+                }
+                added++;
+            }
+            verdicts.clear();
+        }
+        if (!names.isEmpty()) {
+            CaMDOIntegration.ignoreViews(names);
+        }
+        return added;
+    }
+
+    /**
+     * @return true when the view is ignored.
+     */
+    static boolean isIgnored(String viewName) {
+        if (viewName == null) {
+            return false;
+        }
+        Boolean verdict = verdicts.get(viewName);
+        if (verdict != null) {
+            return verdict;
+        }
+        boolean ignored;
+        boolean matchedPattern;
+        synchronized (ViewIgnoreMatcher.class) {
+            ignored = exact.contains(viewName);
+            matchedPattern = !ignored && hasPatterns && matchesPattern(viewName);
+        }
+        if (verdicts.size() < MAX_CACHED_NAMES) {
+            verdicts.put(viewName, ignored || matchedPattern);
+        }
+        if (matchedPattern) {
+            CaMDOIntegration.ignoreView(viewName);
+        }
+        return ignored || matchedPattern;
+    }
+
+    private static void addPrefix(String prefix) {
+        Node node = prefixes;
+        for (int i = 0; i < prefix.length(); i++) {
+            Character c = prefix.charAt(i);
+            Node child = node.children.get(c);
+            if (child == null) {
+                child = new Node();
+                node.children.put(c, child);
+            }
+            node = child;
+        }
+        node.terminal = true;
+    }
+
+    private static boolean matchesPattern(String viewName) {
+        Node node = prefixes;
+        for (int i = 0; node != null; i++) {
+            if (node.terminal) {
+                return true;
+            }
+            node = i < viewName.length() ? node.children.get(viewName.charAt(i)) : null;
+        }
+        for (Pattern wildcard : wildcards) {
+            if (wildcard.matcher(viewName).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
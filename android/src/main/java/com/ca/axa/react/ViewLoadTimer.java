@@ -0,0 +1,233 @@
+// ViewLoadTimer.java
+
+package com.ca.axa.react;
+
+import com.ca.android.app.CaMDOIntegration;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.UIManager;
+import com.facebook.react.bridge.UIManagerListener;
+import com.facebook.react.uimanager.UIManagerHelper;
+import com.facebook.react.uimanager.common.UIManagerType;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures view load times natively, from a mark set by JS to a frame drawn after a batch of view
+ * updates, and reports them through {@link CaMDOIntegration#viewLoaded}.
+ * <p>
+ * The end of a load is detected from the UIManager view update events, followed by Choreographer frame
+ * callbacks. The events do not tell which views a batch touched. Without a root tag, a load therefore
+ * ends with the first frame drawn after the first batch dispatched after the mark, whatever it updates:
+ * it measures the time to the first UI update. With the tag of the screen's root view, batches are
+ * skipped until that view exists and is laid out, which measures the time to the screen's content.
+ * <p>
+ * The UI thread only posts frame callbacks and resolves root tags; the report is made from the SDK
+ * executor. The listener is registered on the UIManagers of the current React context, again after
+ * each reload.
+ */
+final class ViewLoadTimer implements UIManagerListener {
+
+    /** Loads still waiting for their root view after this time are dropped. */
+    private static final long MAX_WAIT_NANOS = 60000000000L;
+    private static final int NO_TAG = -1;
+
+    private static final ViewLoadTimer instance = new ViewLoadTimer();
+
+    private static volatile ReactApplicationContext reactContext;
+    /** The context whose UIManagers are listened to, and those UIManagers, guarded by ViewLoadTimer.class. */
+    private static ReactApplicationContext listeningContext;
+    private static final List<UIManager> uiManagers = new ArrayList<>();
+
+    /** Views waiting for their content to be mounted, guarded by instance. */
+    private static final Map<String, Mark> pending = new HashMap<>();
+
+    private static final class Mark {
+        final long startNanos;
+        final int rootTag;
+
+        Mark(long startNanos, int rootTag) {
+            this.startNanos = startNanos;
+            this.rootTag = rootTag;
+        }
+    }
+
+    private ViewLoadTimer() {
+    }
+
+    /**
+     * Sets the React context. After a reload, the views still pending are dropped, and the listener
+     * moves to the UIManagers of the new context with the next {@link #start(String, Double)}.
+     */
+    static void attach(ReactApplicationContext context) {
+        ReactApplicationContext previous = reactContext;
+        if (previous != null && previous != context) {
+            synchronized (instance) {
+                pending.clear();
+            }
+        }
+        reactContext = context;
+    }
+
+    /**
+     * Starts timing the load of a view. The load ends with the first frame drawn after the next
+     * batch of view updates or, with a root tag, after the first batch once the root view is laid out.
+     *
+     * @param rootTag React tag of the screen's root view, may be null.
+     */
+    static void start(String viewName, Double rootTag) {
+        if (viewName == null) {
+            return;
+        }
+        Mark mark = new Mark(System.nanoTime(), rootTag == null ? NO_TAG : rootTag.intValue());
+        synchronized (instance) {
+            pending.put(viewName, mark);
+        }
+        JankMonitor.setScreen(viewName);
+        listen();
+    }
+
+    private static synchronized void listen() {
+        ReactApplicationContext context = reactContext;
+        if (context == null || context == listeningContext) {
+            return;
+        }
+        for (UIManager uiManager : uiManagers) {
+            try {
+                uiManager.removeUIManagerEventListener(instance);
+            } catch (RuntimeException e) {
+                AxaLog.d("@ ViewLoadTimer could not remove listener {}", e);
+            }
+        }
+        uiManagers.clear();
+        for (int type : new int[]{UIManagerType.DEFAULT, UIManagerType.FABRIC}) {
+            try {
+                UIManager uiManager = UIManagerHelper.getUIManager(context, type);
+                if (uiManager != null) {
+                    uiManager.addUIManagerEventListener(instance);
+                    uiManagers.add(uiManager);
+                }
+            } catch (RuntimeException e) {
+                AxaLog.d("@ ViewLoadTimer no UIManager of type {}", type);
+            }
+        }
+        if (!uiManagers.isEmpty()) {
+            listeningContext = context;
+        }
+    }
+
+    /** Paper: the view updates of a batch are about to be dispatched to the UI thread. */
+    @Override
+    public void willDispatchViewUpdates(UIManager uiManager) {
+        onViewsMounting(uiManager);
+    }
+
+    /** Fabric: mount items were dispatched on the UI thread. */
+    @Override
+    public void didDispatchMountItems(UIManager uiManager) {
+        onViewsMounting(uiManager);
+    }
+
+    @Override
+    public void didScheduleMountItems(UIManager uiManager) {
+    }
+
+    private static void onViewsMounting(final UIManager uiManager) {
+        final Map<String, Mark> mounting;
+        synchronized (instance) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            mounting = new HashMap<>(pending);
+            pending.clear();
+        }
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                // The views are mounted during the next frame and drawn at its end: report at the frame after.
+                Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+                    @Override
+                    public void doFrame(long frameTimeNanos) {
+                        Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+                            @Override
+                            public void doFrame(final long drawnTimeNanos) {
+                                final Map<String, Mark> loaded = takeLoaded(uiManager, mounting, drawnTimeNanos);
+                                if (loaded.isEmpty()) {
+                                    return;
+                                }
+                                SdkExecutor.executeDroppable(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        report(loaded, drawnTimeNanos);
+                                    }
+                                }, null);
+                            }
+                        });
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Called on the UI thread. Removes from the mounting views those without a root tag, or whose root
+     * view is laid out, and puts the others back to wait for the next batch, unless a newer mark was
+     * set for them meanwhile or they waited too long.
+     *
+     * @return the views whose load ended.
+     */
+    private static Map<String, Mark> takeLoaded(UIManager uiManager, Map<String, Mark> mounting, long drawnTimeNanos) {
+        Map<String, Mark> loaded = new HashMap<>();
+        Map<String, Mark> waiting = new HashMap<>();
+        for (Map.Entry<String, Mark> view : mounting.entrySet()) {
+            Mark mark = view.getValue();
+            if (mark.rootTag == NO_TAG || isLaidOut(uiManager, mark.rootTag)) {
+                loaded.put(view.getKey(), mark);
+            } else if (drawnTimeNanos - mark.startNanos < MAX_WAIT_NANOS) {
+                waiting.put(view.getKey(), mark);
+            } else {
+                AxaLog.d("@ viewLoaded dropped for {}: root view {} not laid out", view.getKey(), mark.rootTag);
+            }
+        }
+        if (!waiting.isEmpty()) {
+            synchronized (instance) {
+                for (Map.Entry<String, Mark> view : waiting.entrySet()) {
+                    if (!pending.containsKey(view.getKey())) {
+                        pending.put(view.getKey(), view.getValue());
+                    }
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static boolean isLaidOut(UIManager uiManager, int rootTag) {
+        View view;
+        try {
+            view = uiManager.resolveView(rootTag);
+        } catch (RuntimeException e) {
+            // not created yet, or created by the other UIManager
+            return false;
+        }
+        return view != null && view.getWidth() > 0 && view.getHeight() > 0;
+    }
+
+    private static void report(Map<String, Mark> views, long drawnTimeNanos) {
+        for (Map.Entry<String, Mark> view : views.entrySet()) {
+            if (ViewIgnoreMatcher.isIgnored(view.getKey())) {
+                continue;
+            }
+            int loadTime = (int) Math.max(0, (drawnTimeNanos - view.getValue().startNanos) / 1000000);
+            AxaLog.d("@ viewLoaded measured for {}: {} ms", view.getKey(), loadTime);
+            CaMDOIntegration.viewLoaded(view.getKey(), loadTime, null);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+// ReactNativeAxaMobileSdkModuleProvider.java
+
+package com.ca.axa.react;
+
+import com.facebook.react.bridge.NativeModule;
+import com.facebook.react.bridge.ReactApplicationContext;
+
+/**
+ * Creates the module for the New Architecture build: the codegen backed TurboModule.
+ */
+final class ReactNativeAxaMobileSdkModuleProvider {
+
+    static final boolean IS_TURBO_MODULE = true;
+
+    private ReactNativeAxaMobileSdkModuleProvider() {
+    }
+
+    static NativeModule createModule(ReactApplicationContext reactContext) {
+        return new ReactNativeAxaMobileSdkTurboModule(reactContext);
+    }
+}
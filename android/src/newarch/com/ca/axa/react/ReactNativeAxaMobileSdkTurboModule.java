@@ -0,0 +1,372 @@
+// ReactNativeAxaMobileSdkTurboModule.java
+
+package com.ca.axa.react;
+
+import com.facebook.fbreact.specs.NativeReactNativeAxaMobileSdkSpec;
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * New Architecture TurboModule, implementing the codegen spec in src/NativeReactNativeAxaMobileSdk.js.
+ * <p>
+ * All calls are routed to the {@link ReactNativeAxaMobileSdkModule} APIs, which remain the legacy
+ * bridge implementation. The *Sync getters are served as synchronous JSI calls.
+ */
+public class ReactNativeAxaMobileSdkTurboModule extends NativeReactNativeAxaMobileSdkSpec {
+
+    public ReactNativeAxaMobileSdkTurboModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+        ReactNativeAxaMobileSdkModule.attachContext(reactContext);
+    }
+
+    @Override
+    public String getName() {
+        return ReactNativeAxaMobileSdkModule.NAME;
+    }
+
+    @Override
+    protected Map<String, Object> getTypedExportedConstants() {
+        return ReactNativeAxaMobileSdkModule.getSdkConstants();
+    }
+
+    @Override
+    public void setCustomerLocation(String postalCode, String countryCode) {
+        ReactNativeAxaMobileSdkModule.setCustomerLocation(postalCode, countryCode);
+    }
+
+    @Override
+    public void setSessionAttribute(String name, String value, @Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.setSessionAttribute(name, value, callback);
+    }
+
+    @Override
+    public void setSessionAttributes(ReadableMap attributes, @Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.setSessionAttributes(attributes, callback);
+    }
+
+    @Override
+    public void startApplicationTransaction(String transactionName, @Nullable String serviceName, @Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.startApplicationTransaction(transactionName, serviceName, callback);
+    }
+
+    @Override
+    public void stopApplicationTransaction(String transactionName, @Nullable String failure, @Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.stopApplicationTransaction(transactionName, failure, callback);
+    }
+
+    @Override
+    public void startTransactionSpan(String transactionName, String spanName) {
+        ReactNativeAxaMobileSdkModule.startTransactionSpan(transactionName, spanName);
+    }
+
+    @Override
+    public void stopTransactionSpan(String transactionName, String spanName, @Nullable String failure) {
+        ReactNativeAxaMobileSdkModule.stopTransactionSpan(transactionName, spanName, failure);
+    }
+
+    @Override
+    public void setTransactionTimeout(double seconds) {
+        ReactNativeAxaMobileSdkModule.setTransactionTimeout((int) seconds);
+    }
+
+    @Override
+    public void getOpenTransactions(Callback callback) {
+        ReactNativeAxaMobileSdkModule.getOpenTransactions(callback);
+    }
+
+    @Override
+    public void setCrashFeedback(String feedback) {
+        ReactNativeAxaMobileSdkModule.setCrashFeedback(feedback);
+    }
+
+    @Override
+    public void setUserFeedback(String feedback) {
+        ReactNativeAxaMobileSdkModule.setUserFeedback(feedback);
+    }
+
+    @Override
+    public void enableSDK() {
+        ReactNativeAxaMobileSdkModule.enableSDK();
+    }
+
+    @Override
+    public void disableSDK() {
+        ReactNativeAxaMobileSdkModule.disableSDK();
+    }
+
+    @Override
+    public void isSDKEnabled(Callback callback) {
+        ReactNativeAxaMobileSdkModule.isSDKEnabled(callback);
+    }
+
+    @Override
+    public boolean isSDKEnabledSync() {
+        return ReactNativeAxaMobileSdkModule.isSDKEnabledSync();
+    }
+
+    @Override
+    public void setEventJournal(@Nullable ReadableMap config) {
+        ReactNativeAxaMobileSdkModule.setEventJournal(config);
+    }
+
+    @Override
+    public void enterPrivateZone() {
+        ReactNativeAxaMobileSdkModule.enterPrivateZone();
+    }
+
+    @Override
+    public void exitPrivateZone() {
+        ReactNativeAxaMobileSdkModule.exitPrivateZone();
+    }
+
+    @Override
+    public void isInPrivateZone(Callback callback) {
+        ReactNativeAxaMobileSdkModule.isInPrivateZone(callback);
+    }
+
+    @Override
+    public boolean isInPrivateZoneSync() {
+        return ReactNativeAxaMobileSdkModule.isInPrivateZoneSync();
+    }
+
+    @Override
+    public void sendScreenShot(String screenName, double imageQuality, @Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.sendScreenShot(screenName, (int) imageQuality, callback);
+    }
+
+    @Override
+    public void setScreenshotScheduling(@Nullable ReadableMap config) {
+        ReactNativeAxaMobileSdkModule.setScreenshotScheduling(config);
+    }
+
+    @Override
+    public void isScreenshotPolicyEnabled(Callback callback) {
+        ReactNativeAxaMobileSdkModule.isScreenshotPolicyEnabled(callback);
+    }
+
+    @Override
+    public boolean isScreenshotPolicyEnabledSync() {
+        return ReactNativeAxaMobileSdkModule.isScreenshotPolicyEnabledSync();
+    }
+
+    @Override
+    public void stopCurrentSession() {
+        ReactNativeAxaMobileSdkModule.stopCurrentSession();
+    }
+
+    @Override
+    public void startNewSession() {
+        ReactNativeAxaMobileSdkModule.startNewSession();
+    }
+
+    @Override
+    public void stopCurrentAndStartNewSession() {
+        ReactNativeAxaMobileSdkModule.stopCurrentAndStartNewSession();
+    }
+
+    @Override
+    public void viewLoaded(String viewName, double loadTime, @Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.viewLoaded(viewName, (int) loadTime, callback);
+    }
+
+    @Override
+    public void startViewLoad(String viewName, @Nullable Double rootTag) {
+        ReactNativeAxaMobileSdkModule.startViewLoad(viewName, rootTag);
+    }
+
+    @Override
+    public void startPerformanceMonitor(@Nullable ReadableMap config) {
+        ReactNativeAxaMobileSdkModule.startPerformanceMonitor(config);
+    }
+
+    @Override
+    public void stopPerformanceMonitor() {
+        ReactNativeAxaMobileSdkModule.stopPerformanceMonitor();
+    }
+
+    @Override
+    public void logNetworkEvent(String url, double status, double responseTime, double inBytes, double outBytes, @Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.logNetworkEvent(url, (int) status, (int) responseTime, (int) inBytes, (int) outBytes, callback);
+    }
+
+    @Override
+    public void uploadEvents(@Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.uploadEvents(callback);
+    }
+
+    @Override
+    public void setAdaptiveUpload(@Nullable ReadableMap config) {
+        ReactNativeAxaMobileSdkModule.setAdaptiveUpload(config);
+    }
+
+    @Override
+    public void logNumericMetric(String metricName, double metricValue, @Nullable ReadableMap attributes, @Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.logNumericMetric(metricName, metricValue, attributes, callback);
+    }
+
+    @Override
+    public void logTextMetric(String metricName, String metricValue, @Nullable ReadableMap attributes, @Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.logTextMetric(metricName, metricValue, attributes, callback);
+    }
+
+    @Override
+    public void setUrlNormalization(@Nullable ReadableMap config) {
+        ReactNativeAxaMobileSdkModule.setUrlNormalization(config);
+    }
+
+    @Override
+    public void setMetricAggregation(@Nullable ReadableMap config) {
+        ReactNativeAxaMobileSdkModule.setMetricAggregation(config);
+    }
+
+    @Override
+    public void flushMetricAggregates() {
+        ReactNativeAxaMobileSdkModule.flushMetricAggregates();
+    }
+
+    @Override
+    public void setEventGovernor(@Nullable ReadableMap config) {
+        ReactNativeAxaMobileSdkModule.setEventGovernor(config);
+    }
+
+    @Override
+    public void getEventGovernorStats(Callback callback) {
+        ReactNativeAxaMobileSdkModule.getEventGovernorStats(callback);
+    }
+
+    @Override
+    public void setPayloadCompaction(@Nullable ReadableMap config) {
+        ReactNativeAxaMobileSdkModule.setPayloadCompaction(config);
+    }
+
+    @Override
+    public void getPayloadStats(Callback callback) {
+        ReactNativeAxaMobileSdkModule.getPayloadStats(callback);
+    }
+
+    @Override
+    public void setBridgeStatsEnabled(boolean enabled, double reportIntervalSeconds) {
+        ReactNativeAxaMobileSdkModule.setBridgeStatsEnabled(enabled, (int) reportIntervalSeconds);
+    }
+
+    @Override
+    public void getBridgeStats(Callback callback) {
+        ReactNativeAxaMobileSdkModule.getBridgeStats(callback);
+    }
+
+    @Override
+    public void getStartupTrace(Callback callback) {
+        ReactNativeAxaMobileSdkModule.getStartupTrace(callback);
+    }
+
+    @Override
+    public void setSdkExecutor(@Nullable ReadableMap config) {
+        ReactNativeAxaMobileSdkModule.setSdkExecutor(config);
+    }
+
+    @Override
+    public void getSdkExecutorStats(Callback callback) {
+        ReactNativeAxaMobileSdkModule.getSdkExecutorStats(callback);
+    }
+
+    @Override
+    public void setLogLevel(String level) {
+        ReactNativeAxaMobileSdkModule.setLogLevel(level);
+    }
+
+    @Override
+    public void setLogBufferSize(double capacity) {
+        ReactNativeAxaMobileSdkModule.setLogBufferSize((int) capacity);
+    }
+
+    @Override
+    public void getRecentLogs(Callback callback) {
+        ReactNativeAxaMobileSdkModule.getRecentLogs(callback);
+    }
+
+    @Override
+    public void setTypedResultsEnabled(boolean enabled) {
+        ReactNativeAxaMobileSdkModule.setTypedResultsEnabled(enabled);
+    }
+
+    @Override
+    public void setResultStream(@Nullable ReadableMap config) {
+        ReactNativeAxaMobileSdkModule.setResultStream(config);
+    }
+
+    @Override
+    public void logMetricsBatch(ReadableArray events, @Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.logMetricsBatch(events, callback);
+    }
+
+    @Override
+    public void getAPMHeaders(Callback callback) {
+        ReactNativeAxaMobileSdkModule.getAPMHeaders(callback);
+    }
+
+    @Override
+    public double getAPMHeadersVersion() {
+        return ReactNativeAxaMobileSdkModule.getAPMHeadersVersion();
+    }
+
+    @Override
+    public void addListener(String eventName) {
+        ReactNativeAxaMobileSdkModule.addListener(eventName);
+    }
+
+    @Override
+    public void removeListeners(double count) {
+        ReactNativeAxaMobileSdkModule.removeListeners((int) count);
+    }
+
+    @Override
+    public void addToApmHeader(String headerString) {
+        ReactNativeAxaMobileSdkModule.addToApmHeader(headerString);
+    }
+
+    @Override
+    public void getCustomerId(Callback callback) {
+        ReactNativeAxaMobileSdkModule.getCustomerId(callback);
+    }
+
+    @Override
+    public @Nullable String getCustomerIdSync() {
+        return ReactNativeAxaMobileSdkModule.getCustomerIdSync();
+    }
+
+    @Override
+    public void setCustomerId(String customerId, @Nullable Callback callback) {
+        ReactNativeAxaMobileSdkModule.setCustomerId(customerId, callback);
+    }
+
+    @Override
+    public void getDeviceId(Callback callback) {
+        ReactNativeAxaMobileSdkModule.getDeviceId(callback);
+    }
+
+    @Override
+    public @Nullable String getDeviceIdSync() {
+        return ReactNativeAxaMobileSdkModule.getDeviceIdSync();
+    }
+
+    @Override
+    public void ignoreView(String viewName) {
+        ReactNativeAxaMobileSdkModule.ignoreView(viewName);
+    }
+
+    @Override
+    public void ignoreViewPatterns(ReadableArray patterns) {
+        ReactNativeAxaMobileSdkModule.ignoreViewPatterns(patterns);
+    }
+
+    @Override
+    public void throwException(double type) {
+        ReactNativeAxaMobileSdkModule.throwException((int) type);
+    }
+}
@@ -0,0 +1,21 @@
+// ReactNativeAxaMobileSdkModuleProvider.java
+
+package com.ca.axa.react;
+
+import com.facebook.react.bridge.NativeModule;
+import com.facebook.react.bridge.ReactApplicationContext;
+
+/**
+ * Creates the module for the legacy architecture build: the bridge module.
+ */
+final class ReactNativeAxaMobileSdkModuleProvider {
+
+    static final boolean IS_TURBO_MODULE = false;
+
+    private ReactNativeAxaMobileSdkModuleProvider() {
+    }
+
+    static NativeModule createModule(ReactApplicationContext reactContext) {
+        return new ReactNativeAxaMobileSdkModule(reactContext);
+    }
+}
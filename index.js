@@ -2,6 +2,11 @@
 
 import { NativeModules } from 'react-native';
 
-const { ReactNativeAxaMobileSdk } = NativeModules;
+// Use the TurboModule when the New Architecture is enabled, the legacy bridge module otherwise.
+const isTurboModuleEnabled = global.__turboModuleProxy != null;
+
+const ReactNativeAxaMobileSdk = isTurboModuleEnabled
+    ? require('./src/NativeReactNativeAxaMobileSdk').default
+    : NativeModules.ReactNativeAxaMobileSdk;
 
 export default ReactNativeAxaMobileSdk;
@@ -0,0 +1,87 @@
+/**
+ * @flow strict-local
+ * @format
+ */
+
+// Codegen spec for the ReactNativeAxaMobileSdk TurboModule (New Architecture, Android).
+
+import type { TurboModule } from 'react-native/Libraries/TurboModule/RCTExport';
+import { TurboModuleRegistry } from 'react-native';
+
+export interface Spec extends TurboModule {
+  +getConstants: () => {|
+    HIGH: number,
+    MEDIUM: number,
+    LOW: number,
+  |};
+
+  +setCustomerLocation: (postalCode: string, countryCode: string) => void;
+  +setSessionAttribute: (name: string, value: string, callback: ?(result: Object) => void) => void;
+  +setSessionAttributes: (attributes: Object, callback: ?(result: Object) => void) => void;
+  +startApplicationTransaction: (transactionName: string, serviceName: ?string, callback: ?(result: Object) => void) => void;
+  +stopApplicationTransaction: (transactionName: string, failure: ?string, callback: ?(result: Object) => void) => void;
+  +startTransactionSpan: (transactionName: string, spanName: string) => void;
+  +stopTransactionSpan: (transactionName: string, spanName: string, failure: ?string) => void;
+  +setTransactionTimeout: (seconds: number) => void;
+  +getOpenTransactions: (callback: (result: Object) => void) => void;
+  +setCrashFeedback: (feedback: string) => void;
+  +setUserFeedback: (feedback: string) => void;
+  +enableSDK: () => void;
+  +disableSDK: () => void;
+  +isSDKEnabled: (callback: (result: Object) => void) => void;
+  +isSDKEnabledSync: () => boolean;
+  +setEventJournal: (config: ?Object) => void;
+  +enterPrivateZone: () => void;
+  +exitPrivateZone: () => void;
+  +isInPrivateZone: (callback: (result: Object) => void) => void;
+  +isInPrivateZoneSync: () => boolean;
+  +sendScreenShot: (screenName: string, imageQuality: number, callback: ?(result: Object) => void) => void;
+  +setScreenshotScheduling: (config: ?Object) => void;
+  +isScreenshotPolicyEnabled: (callback: (result: Object) => void) => void;
+  +isScreenshotPolicyEnabledSync: () => boolean;
+  +stopCurrentSession: () => void;
+  +startNewSession: () => void;
+  +stopCurrentAndStartNewSession: () => void;
+  +viewLoaded: (viewName: string, loadTime: number, callback: ?(result: Object) => void) => void;
+  +startViewLoad: (viewName: string, rootTag: ?number) => void;
+  +startPerformanceMonitor: (config: ?Object) => void;
+  +stopPerformanceMonitor: () => void;
+  +logNetworkEvent: (url: string, status: number, responseTime: number, inBytes: number, outBytes: number, callback: ?(result: Object) => void) => void;
+  +uploadEvents: (callback: ?(result: Object) => void) => void;
+  +setAdaptiveUpload: (config: ?Object) => void;
+  +logNumericMetric: (metricName: string, metricValue: number, attributes: ?Object, callback: ?(result: Object) => void) => void;
+  +logTextMetric: (metricName: string, metricValue: string, attributes: ?Object, callback: ?(result: Object) => void) => void;
+  +setUrlNormalization: (config: ?Object) => void;
+  +setMetricAggregation: (config: ?Object) => void;
+  +flushMetricAggregates: () => void;
+  +setEventGovernor: (config: ?Object) => void;
+  +getEventGovernorStats: (callback: (result: Object) => void) => void;
+  +setPayloadCompaction: (config: ?Object) => void;
+  +getPayloadStats: (callback: (result: Object) => void) => void;
+  +setBridgeStatsEnabled: (enabled: boolean, reportIntervalSeconds: number) => void;
+  +getBridgeStats: (callback: (result: Object) => void) => void;
+  +getStartupTrace: (callback: (result: Object) => void) => void;
+  +setSdkExecutor: (config: ?Object) => void;
+  +getSdkExecutorStats: (callback: (result: Object) => void) => void;
+  +setLogLevel: (level: string) => void;
+  +setLogBufferSize: (capacity: number) => void;
+  +getRecentLogs: (callback: (result: Object) => void) => void;
+  +setTypedResultsEnabled: (enabled: boolean) => void;
+  +setResultStream: (config: ?Object) => void;
+  +logMetricsBatch: (events: Array<Object>, callback: ?(result: Object) => void) => void;
+  +getAPMHeaders: (callback: (result: Object) => void) => void;
+  +getAPMHeadersVersion: () => number;
+  +addListener: (eventName: string) => void;
+  +removeListeners: (count: number) => void;
+  +addToApmHeader: (headerString: string) => void;
+  +getCustomerId: (callback: (result: Object) => void) => void;
+  +getCustomerIdSync: () => ?string;
+  +setCustomerId: (customerId: string, callback: ?(result: Object) => void) => void;
+  +getDeviceId: (callback: (result: Object) => void) => void;
+  +getDeviceIdSync: () => ?string;
+  +ignoreView: (viewName: string) => void;
+  +ignoreViewPatterns: (patterns: Array<string>) => void;
+  +throwException: (type: number) => void;
+}
+
+export default (TurboModuleRegistry.get<Spec>('ReactNativeAxaMobileSdk'): ?Spec);